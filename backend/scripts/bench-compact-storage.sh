@@ -0,0 +1,124 @@
+#!/usr/bin/env bash
+# Measure what V10 (SMALLINT priority, per-user category dictionary) saves on Postgres.
+#
+# Builds a scratch database from migrations V1-V9, seeds N todos spread over many users
+# (every todo has a priority, two in three have one of ten categories), and records table
+# and index sizes plus list-query latency. Then applies V10 and measures again. Results
+# go to target/storage-bench/ (sizes.txt, latency.txt and EXPLAIN ANALYZE plans).
+#
+# The list queries are the ones GET /api/todos issues: first page (50 rows) of one user's
+# todos, newest first, filtered by priority or by category.
+#
+# Requires: psql and pgbench, and a role allowed to create databases. Connection comes
+# from the usual libpq env vars, defaulting to the .env values (DB_HOST, DB_PORT,
+# DB_USERNAME, DB_PASSWORD). The scratch database is dropped and recreated on every run.
+#
+# Usage: scripts/bench-compact-storage.sh [rows] [duration-seconds]
+#   defaults: 5000000 rows, 20s per query
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+ROWS="${1:-5000000}"
+DURATION="${2:-20}"
+USERS="${BENCH_USERS:-1000}"
+CLIENTS="${BENCH_CLIENTS:-8}"
+BENCH_DB="${BENCH_DB:-todo_storage_bench}"
+OUT="target/storage-bench"
+MIGRATIONS="src/main/resources/db/migration"
+
+export PGHOST="${PGHOST:-${DB_HOST:-localhost}}"
+export PGPORT="${PGPORT:-${DB_PORT:-5432}}"
+export PGUSER="${PGUSER:-${DB_USERNAME:-todo_user}}"
+export PGPASSWORD="${PGPASSWORD:-${DB_PASSWORD:-todo_password}}"
+
+command -v pgbench >/dev/null || { echo "pgbench not found on PATH" >&2; exit 1; }
+mkdir -p "$OUT"
+rm -f "$OUT"/sizes.txt "$OUT"/latency.txt
+
+psql -d postgres -v ON_ERROR_STOP=1 -q -c "DROP DATABASE IF EXISTS $BENCH_DB" -c "CREATE DATABASE $BENCH_DB"
+export PGDATABASE="$BENCH_DB"
+
+echo "== schema V1-V9 =="
+for version in 1 2 3 4 5 6 7 8 9; do
+  psql -v ON_ERROR_STOP=1 -q -f "$(ls "$MIGRATIONS"/V${version}__*.sql)"
+done
+
+echo "== seeding $ROWS todos for $USERS users =="
+psql -v ON_ERROR_STOP=1 -q <<SQL
+INSERT INTO users (username, email, password)
+SELECT 'bench' || u, 'bench' || u || '@example.com', 'x' FROM generate_series(1, $USERS) AS u;
+
+INSERT INTO todos (id, title, description, priority, category, completed, user_id, created_at, updated_at)
+SELECT nextval('todos_id_seq'),
+       'todo ' || i,
+       CASE WHEN i % 3 = 0 THEN 'some notes for todo ' || i END,
+       (ARRAY['LOW', 'MEDIUM', 'HIGH'])[1 + i % 3],
+       CASE WHEN i % 3 <> 2 THEN (ARRAY['work', 'home', 'errands', 'health', 'finance',
+                                       'family', 'garden', 'car', 'travel', 'learning'])[1 + (i / 7) % 10] END,
+       i % 4 = 0,
+       u.user_id,
+       now() - (i || ' seconds')::interval,
+       now()
+FROM generate_series(1, $ROWS) AS i
+JOIN users u ON u.email = 'bench' || (1 + i % $USERS) || '@example.com';
+
+INSERT INTO todo_stat_counters (user_id, completed, priority, category, todo_count)
+SELECT user_id, completed, priority, coalesce(category, ''), count(*)
+FROM todos GROUP BY 1, 2, 3, 4;
+SQL
+
+USER_ID="$(psql -At -c "SELECT user_id FROM users WHERE email = 'bench1@example.com'")"
+
+measure() {
+  local label="$1" priority_sql="$2" category_sql="$3"
+  psql -q -c "VACUUM (FULL, ANALYZE) todos"
+  {
+    echo "== $label =="
+    psql -c "SELECT pg_size_pretty(pg_relation_size('todos')) AS heap,
+                    pg_size_pretty(pg_indexes_size('todos')) AS indexes,
+                    pg_size_pretty(pg_total_relation_size('todos')) AS total"
+    psql -c "SELECT indexrelid::regclass AS index, pg_size_pretty(pg_relation_size(indexrelid)) AS size
+             FROM pg_index WHERE indrelid = 'todos'::regclass ORDER BY pg_relation_size(indexrelid) DESC"
+  } | tee -a "$OUT/sizes.txt"
+
+  echo "== $label ==" >> "$OUT/latency.txt"
+  run_query "$label-priority" "$priority_sql"
+  run_query "$label-category" "$category_sql"
+}
+
+run_query() {
+  local name="$1" sql="$2"
+  printf '%s;\n' "$sql" > "$OUT/$name.sql"
+  psql -q -c "EXPLAIN (ANALYZE, BUFFERS) $sql" > "$OUT/$name-plan.txt"
+  rm -f "$OUT"/pgbench_log.*
+  (cd "$OUT" && pgbench -n -q -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" -l -f "$name.sql" > "$name-pgbench.txt")
+  # Column 3 of the per-transaction log is the latency in microseconds
+  cat "$OUT"/pgbench_log.* | awk '{print $3}' | sort -n | awk -v name="$name" '
+    { v[NR] = $1 }
+    END {
+      printf "%-16s %8d queries  p50 %7.2f ms  p95 %7.2f ms  p99 %7.2f ms\n", name, NR,
+        v[int(NR * 0.50)] / 1000, v[int(NR * 0.95)] / 1000, v[int(NR * 0.99)] / 1000
+    }' | tee -a "$OUT/latency.txt"
+  rm -f "$OUT"/pgbench_log.*
+}
+
+LIST="SELECT t.id, t.title, t.description, t.priority, t.completed, t.created_at, t.updated_at"
+
+measure "before" \
+  "$LIST, t.category FROM todos t WHERE t.user_id = $USER_ID AND t.priority = 'HIGH'
+   ORDER BY t.created_at DESC, t.id DESC LIMIT 51" \
+  "$LIST, t.category FROM todos t WHERE t.user_id = $USER_ID AND t.category = 'work'
+   ORDER BY t.created_at DESC, t.id DESC LIMIT 51"
+
+echo "== applying V10 =="
+time psql -v ON_ERROR_STOP=1 -q -f "$(ls "$MIGRATIONS"/V10__*.sql)"
+
+measure "after" \
+  "$LIST, c.name FROM todos t LEFT JOIN todo_categories c ON c.category_id = t.category_id
+   WHERE t.user_id = $USER_ID AND t.priority = 3 ORDER BY t.created_at DESC, t.id DESC LIMIT 51" \
+  "$LIST, c.name FROM todos t JOIN todo_categories c ON c.category_id = t.category_id
+   WHERE t.user_id = $USER_ID AND c.name = 'work' ORDER BY t.created_at DESC, t.id DESC LIMIT 51"
+
+echo
+echo "sizes: $OUT/sizes.txt  latency: $OUT/latency.txt  plans: $OUT/*-plan.txt"
@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+# Measure GET /api/todos/search query latency on Postgres with 1M todos.
+#
+# Seeds one bench user with N todos (titles/descriptions drawn from a small vocabulary so
+# common and rare words both occur), then runs the exact search query from
+# TodoSearchService with pgbench for common, rare and two-word queries. Per-query
+# p50/p95/p99 and an EXPLAIN ANALYZE plan are written to target/search-bench/.
+#
+# Requires: psql and pgbench, and a database migrated to V10 or later (start the app once).
+# Connection comes from the usual libpq env vars, defaulting to the .env values
+# (DB_HOST, DB_PORT, DB_NAME, DB_USERNAME, DB_PASSWORD).
+#
+# Usage: scripts/bench-search.sh [rows] [duration-seconds]
+#   defaults: 1000000 rows, 30s per query
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+ROWS="${1:-1000000}"
+DURATION="${2:-30}"
+CLIENTS="${BENCH_CLIENTS:-8}"
+OUT="target/search-bench"
+EMAIL="search-bench@example.com"
+
+export PGHOST="${PGHOST:-${DB_HOST:-localhost}}"
+export PGPORT="${PGPORT:-${DB_PORT:-5432}}"
+export PGDATABASE="${PGDATABASE:-${DB_NAME:-todo_db}}"
+export PGUSER="${PGUSER:-${DB_USERNAME:-todo_user}}"
+export PGPASSWORD="${PGPASSWORD:-${DB_PASSWORD:-todo_password}}"
+
+command -v pgbench >/dev/null || { echo "pgbench not found on PATH" >&2; exit 1; }
+mkdir -p "$OUT"
+
+echo "== seeding $ROWS todos =="
+psql -v ON_ERROR_STOP=1 -q <<SQL
+DELETE FROM users WHERE email = '$EMAIL';
+INSERT INTO users (username, email, password) VALUES ('search-bench', '$EMAIL', 'x');
+INSERT INTO todos (id, title, description, priority, user_id, created_at, updated_at)
+SELECT nextval('todos_id_seq'),
+       w[1 + (i % 50)] || ' ' || w[1 + ((i / 50) % 50)] || ' ' || i,
+       CASE WHEN i % 1000 = 0 THEN 'rare quarterly escalation ' ELSE '' END
+           || w[1 + ((i / 7) % 50)] || ' ' || w[1 + ((i / 13) % 50)] || ' notes',
+       2, u.user_id, now(), now()
+FROM generate_series(1, $ROWS) AS i,
+     (SELECT user_id FROM users WHERE email = '$EMAIL') AS u,
+     (SELECT string_to_array(
+        'buy call email fix review write plan clean book send pay order check update test ' ||
+        'deploy read draft meet prepare schedule cancel renew print sign file backup migrate ' ||
+        'design refactor document invoice report budget groceries dentist garden car house ' ||
+        'team client server database release laptop phone ticket meeting project weekly', ' ') AS w) AS v;
+ANALYZE todos;
+SQL
+
+USER_ID="$(psql -At -c "SELECT user_id FROM users WHERE email = '$EMAIL'")"
+SQL="SELECT t.id, t.title, t.description, t.priority, c.name AS category, t.completed, t.created_at, t.updated_at, t.version
+FROM websearch_to_tsquery('english', :q) query, todos t LEFT JOIN todo_categories c ON c.category_id = t.category_id
+WHERE t.user_id = $USER_ID AND t.search_vector @@ query
+ORDER BY ts_rank(t.search_vector, query) DESC, t.id DESC LIMIT 21 OFFSET 0"
+
+run_query() {
+  local name="$1" q="$2"
+  printf '%s;\n' "${SQL//:q/\'$q\'}" > "$OUT/$name.sql"
+  psql -q -c "EXPLAIN (ANALYZE, BUFFERS) ${SQL//:q/\'$q\'}" > "$OUT/$name-plan.txt"
+  rm -f "$OUT"/pgbench_log.*
+  (cd "$OUT" && pgbench -n -q -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" -l -f "$name.sql" > "$name-pgbench.txt")
+  # Column 3 of the per-transaction log is the latency in microseconds
+  cat "$OUT"/pgbench_log.* | awk '{print $3}' | sort -n | awk -v name="$name" '
+    { v[NR] = $1 }
+    END {
+      printf "%-10s %8d queries  p50 %7.2f ms  p95 %7.2f ms  p99 %7.2f ms\n", name, NR,
+        v[int(NR * 0.50)] / 1000, v[int(NR * 0.95)] / 1000, v[int(NR * 0.99)] / 1000
+    }'
+  rm -f "$OUT"/pgbench_log.*
+}
+
+echo
+echo "== search latency ($ROWS rows, $CLIENTS clients, ${DURATION}s per query) =="
+run_query rare "quarterly escalation"
+run_query common "invoice"
+run_query two-words "invoice client"
+run_query phrase '"weekly report"'
+echo "plans: $OUT/*-plan.txt"
@@ -0,0 +1,102 @@
+#!/usr/bin/env bash
+# Compare platform-thread and virtual-thread Tomcat under high concurrency.
+#
+# For each mode the packaged app is started with JFR recording jdk.VirtualThreadPinned
+# (threshold 0), a user is registered and seeded with todos, then `hey` drives
+# GET /api/todos and POST /api/auth/login. Latency summaries (incl. p99) and a pinning
+# report per mode are written to target/vt-bench/.
+#
+# Requires: a reachable Postgres (same env vars as ./mvnw spring-boot:run, e.g. from .env),
+# JWT_SECRET, curl, and hey (https://github.com/rakyll/hey).
+#
+# Usage: scripts/bench-virtual-threads.sh [concurrency] [duration]
+#   defaults: 500 concurrent clients, 30s per endpoint and mode
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCY="${1:-500}"
+DURATION="${2:-30s}"
+PORT="${BENCH_PORT:-8080}"
+BASE="http://localhost:${PORT}"
+OUT="target/vt-bench"
+EMAIL="bench-$(date +%s)@example.com"
+PASSWORD="Password!23"
+
+command -v hey >/dev/null || { echo "hey not found on PATH" >&2; exit 1; }
+[ -n "${JWT_SECRET:-}" ] || { echo "JWT_SECRET must be set" >&2; exit 1; }
+
+APP_PID=""
+trap '[ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null || true' EXIT
+
+mkdir -p "$OUT"
+./mvnw -B -q -DskipTests package
+JAR="$(ls target/backend-*.jar | grep -v plain | head -n 1)"
+
+wait_for_port() {
+  for _ in $(seq 1 60); do
+    curl -s -o /dev/null "$BASE/api/auth/verify" && return 0
+    sleep 1
+  done
+  echo "backend did not start" >&2
+  return 1
+}
+
+run_mode() {
+  local mode="$1" virtual="$2"
+  local jfr="$OUT/$mode.jfr"
+
+  echo "== $mode threads =="
+  VIRTUAL_THREADS_ENABLED="$virtual" java \
+    "-XX:StartFlightRecording=filename=$jfr,settings=profile,jdk.VirtualThreadPinned#threshold=0ms" \
+    -jar "$JAR" --server.port="$PORT" > "$OUT/$mode-app.log" 2>&1 &
+  APP_PID=$!
+  local pid=$APP_PID
+  wait_for_port
+
+  local login_body="{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}"
+  curl -s -o /dev/null -H 'Content-Type: application/json' \
+    -d "{\"name\":\"bench\",\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" "$BASE/api/auth/register" || true
+  local token
+  token="$(curl -s -H 'Content-Type: application/json' -d "$login_body" "$BASE/api/auth/login" \
+    | sed -E 's/.*"accessToken":"([^"]+)".*/\1/')"
+  for i in $(seq 1 100); do
+    curl -s -o /dev/null -H "Authorization: Bearer $token" -H 'Content-Type: application/json' \
+      -d "{\"title\":\"bench $i\",\"priority\":\"LOW\"}" "$BASE/api/todos"
+  done
+
+  # Warm up JIT and caches before measuring
+  hey -z 10s -c 50 -H "Authorization: Bearer $token" "$BASE/api/todos" > /dev/null
+
+  hey -z "$DURATION" -c "$CONCURRENCY" -H "Authorization: Bearer $token" \
+    "$BASE/api/todos" > "$OUT/$mode-todos.txt"
+  hey -z "$DURATION" -c "$CONCURRENCY" -m POST -T application/json -d "$login_body" \
+    "$BASE/api/auth/login" > "$OUT/$mode-login.txt"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  APP_PID=""
+
+  jfr print --events jdk.VirtualThreadPinned "$jfr" > "$OUT/$mode-pinning.txt"
+  echo "pinned events: $(grep -c 'jdk.VirtualThreadPinned' "$OUT/$mode-pinning.txt" || true)"
+}
+
+summarize() {
+  local mode="$1"
+  for endpoint in todos login; do
+    local file="$OUT/$mode-$endpoint.txt"
+    printf '%-9s %-6s %s req/s, p99 %s s, non-2xx: %s\n' "$mode" "$endpoint" \
+      "$(awk '/Requests\/sec/ {print $2}' "$file")" \
+      "$(awk '/99%/ {print $3}' "$file")" \
+      "$(awk '/\[[0-9]+\]/ && !/\[200\]/ {sum += $2} END {print sum + 0}' "$file")"
+  done
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo
+echo "== summary (concurrency $CONCURRENCY, $DURATION) =="
+summarize platform
+summarize virtual
+echo "pinning report: $OUT/virtual-pinning.txt"
@@ -0,0 +1,103 @@
+package com.todoapp.backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.backend.dto.response.ApiResponseDTO;
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.model.Priority;
+import com.todoapp.backend.model.Todo;
+import com.todoapp.backend.model.TodoCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The two CPU steps of GET /api/todos after the query: mapping entities to
+ * {@link TodoResponseDTO} and serializing the {@link ApiResponseDTO} envelope with the
+ * same Jackson setup Spring Boot uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TodoListBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Todo> todos;
+    private ApiResponseDTO response;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        TodoCategory work = new TodoCategory(1L, "work");
+        todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Todo todo = new Todo();
+            todo.setId((long) i);
+            todo.setTitle("Todo number " + i);
+            todo.setDescription(i % 3 == 0 ? null : "Description of todo " + i + " with a bit of text");
+            todo.setPriority(i % 2 == 0 ? Priority.HIGH : Priority.LOW);
+            todo.setCategory(work);
+            todo.setCompleted(i % 5 == 0);
+            todo.setCreatedAt(now.minusSeconds(i));
+            todo.setUpdatedAt(now);
+            todos.add(todo);
+        }
+        response = new ApiResponseDTO(200, "Todos fetched successfully", mapToDtos());
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<TodoResponseDTO> mapToDtos() {
+        return todos.stream()
+                .map(TodoResponseDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void serializeResponse(Blackhole blackhole) throws IOException {
+        objectMapper.writeValue(new BlackholeOutputStream(blackhole), response);
+    }
+
+    /** Discards the bytes but keeps the JIT from eliding the writes. */
+    private static final class BlackholeOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+    }
+}
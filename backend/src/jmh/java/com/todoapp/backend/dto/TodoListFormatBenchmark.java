@@ -0,0 +1,127 @@
+package com.todoapp.backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todoapp.backend.dto.response.ApiResponseDTO;
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and encode/decode time of a 10k-todo GET /api/todos body in each format a
+ * client can ask for (JSON, CBOR, Smile) and in the protobuf schema of
+ * src/main/proto/todo.proto. Sizes, raw and gzipped, are printed once per format in setup:
+ * <pre>
+ *   ./mvnw -Pjmh verify -Djmh.args="TodoListFormatBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TodoListFormatBenchmark {
+
+    private static final String MESSAGE = "Todos fetched successfully";
+    private static final String[] CATEGORIES = {"work", "home", "errands", "health", null};
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    private List<TodoResponseDTO> todos;
+    private ApiResponseDTO response;
+    private ObjectMapper mapper;
+    private byte[] encoded;
+
+    /** Typed view of the envelope so decoding builds the same DTOs a client would. */
+    public static class TodoListEnvelope {
+        public int status;
+        public String message;
+        public List<TodoResponseDTO> data;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Instant now = Instant.parse("2025-01-01T00:00:00.123456Z");
+        todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TodoResponseDTO todo = new TodoResponseDTO();
+            todo.setId(1_000_000L + i);
+            todo.setTitle("Todo number " + i);
+            todo.setDescription(i % 3 == 0 ? null : "Description of todo " + i + " with a bit of text");
+            todo.setPriority(i % 3 == 0 ? "HIGH" : i % 3 == 1 ? "MEDIUM" : "LOW");
+            todo.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            todo.setCompleted(i % 5 == 0);
+            todo.setCreatedAt(now.minusSeconds(i * 37L));
+            todo.setUpdatedAt(now.minusSeconds(i));
+            todo.setVersion(i % 4);
+            todos.add(todo);
+        }
+        response = new ApiResponseDTO(200, MESSAGE, todos);
+
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json", "protobuf" -> Jackson2ObjectMapperBuilder.json();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> throw new IllegalArgumentException(format);
+        };
+        // Same date handling as the application's mappers (ISO-8601 strings)
+        mapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+        encoded = serialize();
+        if (decode().size() != size) {
+            throw new IllegalStateException(format + " round trip lost todos");
+        }
+        System.out.printf("%n%s: %,d bytes, %,d gzipped%n", format, encoded.length, gzippedSize(encoded));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        if ("protobuf".equals(format)) {
+            return TodoListProtoCodec.encode(200, MESSAGE, todos);
+        }
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public List<TodoResponseDTO> deserialize() throws IOException {
+        return decode();
+    }
+
+    private List<TodoResponseDTO> decode() throws IOException {
+        if ("protobuf".equals(format)) {
+            return TodoListProtoCodec.decode(encoded);
+        }
+        return mapper.readValue(encoded, TodoListEnvelope.class).data;
+    }
+
+    private static int gzippedSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
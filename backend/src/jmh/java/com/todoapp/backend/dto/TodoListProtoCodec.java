@@ -0,0 +1,177 @@
+package com.todoapp.backend.dto;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.model.Priority;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes and decodes {@code TodoListResponse} from src/main/proto/todo.proto with the
+ * protobuf runtime's coded streams. It writes the same bytes protoc-generated classes
+ * would (proto3 defaults omitted, sizes computed up front), without adding a protoc step
+ * to the build just for the benchmark.
+ */
+final class TodoListProtoCodec {
+
+    private TodoListProtoCodec() {
+    }
+
+    static byte[] encode(int status, String message, List<TodoResponseDTO> todos) throws IOException {
+        int[] todoSizes = new int[todos.size()];
+        int size = CodedOutputStream.computeInt32Size(1, status) + CodedOutputStream.computeStringSize(2, message);
+        for (int i = 0; i < todoSizes.length; i++) {
+            todoSizes[i] = todoSize(todos.get(i));
+            size += CodedOutputStream.computeTagSize(3) + CodedOutputStream.computeUInt32SizeNoTag(todoSizes[i]) + todoSizes[i];
+        }
+
+        byte[] bytes = new byte[size];
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        out.writeInt32(1, status);
+        out.writeString(2, message);
+        for (int i = 0; i < todoSizes.length; i++) {
+            out.writeTag(3, 2);
+            out.writeUInt32NoTag(todoSizes[i]);
+            writeTodo(out, todos.get(i));
+        }
+        out.checkNoSpaceLeft();
+        return bytes;
+    }
+
+    static List<TodoResponseDTO> decode(byte[] bytes) throws IOException {
+        CodedInputStream in = CodedInputStream.newInstance(bytes);
+        List<TodoResponseDTO> todos = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag >>> 3) {
+                case 1 -> in.readInt32();
+                case 2 -> in.readString();
+                case 3 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    todos.add(readTodo(in));
+                    in.popLimit(limit);
+                }
+                default -> in.skipField(tag);
+            }
+        }
+        return todos;
+    }
+
+    private static int todoSize(TodoResponseDTO todo) {
+        int size = 0;
+        if (todo.getId() != null && todo.getId() != 0) {
+            size += CodedOutputStream.computeInt64Size(1, todo.getId());
+        }
+        if (todo.getTitle() != null && !todo.getTitle().isEmpty()) {
+            size += CodedOutputStream.computeStringSize(2, todo.getTitle());
+        }
+        if (todo.getDescription() != null) {
+            size += CodedOutputStream.computeStringSize(3, todo.getDescription());
+        }
+        size += CodedOutputStream.computeEnumSize(4, Priority.valueOf(todo.getPriority()).getCode());
+        if (todo.getCategory() != null) {
+            size += CodedOutputStream.computeStringSize(5, todo.getCategory());
+        }
+        if (todo.isCompleted()) {
+            size += CodedOutputStream.computeBoolSize(6, true);
+        }
+        size += timestampFieldSize(7, todo.getCreatedAt()) + timestampFieldSize(8, todo.getUpdatedAt());
+        if (todo.getVersion() != 0) {
+            size += CodedOutputStream.computeInt64Size(9, todo.getVersion());
+        }
+        return size;
+    }
+
+    private static void writeTodo(CodedOutputStream out, TodoResponseDTO todo) throws IOException {
+        if (todo.getId() != null && todo.getId() != 0) {
+            out.writeInt64(1, todo.getId());
+        }
+        if (todo.getTitle() != null && !todo.getTitle().isEmpty()) {
+            out.writeString(2, todo.getTitle());
+        }
+        if (todo.getDescription() != null) {
+            out.writeString(3, todo.getDescription());
+        }
+        out.writeEnum(4, Priority.valueOf(todo.getPriority()).getCode());
+        if (todo.getCategory() != null) {
+            out.writeString(5, todo.getCategory());
+        }
+        if (todo.isCompleted()) {
+            out.writeBool(6, true);
+        }
+        writeTimestamp(out, 7, todo.getCreatedAt());
+        writeTimestamp(out, 8, todo.getUpdatedAt());
+        if (todo.getVersion() != 0) {
+            out.writeInt64(9, todo.getVersion());
+        }
+    }
+
+    private static TodoResponseDTO readTodo(CodedInputStream in) throws IOException {
+        TodoResponseDTO todo = new TodoResponseDTO();
+        todo.setTitle("");
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag >>> 3) {
+                case 1 -> todo.setId(in.readInt64());
+                case 2 -> todo.setTitle(in.readString());
+                case 3 -> todo.setDescription(in.readString());
+                case 4 -> todo.setPriority(Priority.fromCode((short) in.readEnum()).name());
+                case 5 -> todo.setCategory(in.readString());
+                case 6 -> todo.setCompleted(in.readBool());
+                case 7 -> todo.setCreatedAt(readTimestamp(in));
+                case 8 -> todo.setUpdatedAt(readTimestamp(in));
+                case 9 -> todo.setVersion(in.readInt64());
+                default -> in.skipField(tag);
+            }
+        }
+        return todo;
+    }
+
+    // google.protobuf.Timestamp: int64 seconds = 1; int32 nanos = 2
+    private static int timestampSize(Instant instant) {
+        return (instant.getEpochSecond() != 0 ? CodedOutputStream.computeInt64Size(1, instant.getEpochSecond()) : 0)
+                + (instant.getNano() != 0 ? CodedOutputStream.computeInt32Size(2, instant.getNano()) : 0);
+    }
+
+    private static int timestampFieldSize(int field, Instant instant) {
+        if (instant == null) {
+            return 0;
+        }
+        int size = timestampSize(instant);
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static void writeTimestamp(CodedOutputStream out, int field, Instant instant) throws IOException {
+        if (instant == null) {
+            return;
+        }
+        out.writeTag(field, 2);
+        out.writeUInt32NoTag(timestampSize(instant));
+        if (instant.getEpochSecond() != 0) {
+            out.writeInt64(1, instant.getEpochSecond());
+        }
+        if (instant.getNano() != 0) {
+            out.writeInt32(2, instant.getNano());
+        }
+    }
+
+    private static Instant readTimestamp(CodedInputStream in) throws IOException {
+        int limit = in.pushLimit(in.readRawVarint32());
+        long seconds = 0;
+        int nanos = 0;
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag >>> 3) {
+                case 1 -> seconds = in.readInt64();
+                case 2 -> nanos = in.readInt32();
+                default -> in.skipField(tag);
+            }
+        }
+        in.popLimit(limit);
+        return Instant.ofEpochSecond(seconds, nanos);
+    }
+}
@@ -0,0 +1,64 @@
+package com.todoapp.backend.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 64 threads hammering a handful of rate limit keys. "open" has a budget nobody exhausts,
+ * so every call is a successful CAS on a shared bucket (worst case for contention);
+ * "saturated" is a client in a retry loop, where almost every call is a read-only reject.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(64)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int keys;
+
+    @Param({"open", "saturated"})
+    public String budget;
+
+    private RateLimiter limiter;
+    private String[] keyNames;
+
+    @Setup
+    public void setUp() {
+        limiter = "open".equals(budget)
+                ? new RateLimiter(1_000_000_000L, 1e9, Duration.ofMinutes(10), 100_000)
+                : new RateLimiter(100, 20, Duration.ofMinutes(10), 100_000);
+        keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = "user:" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        final int index = NEXT.getAndIncrement();
+    }
+
+    @Benchmark
+    public long tryAcquire(Caller caller) {
+        return limiter.tryAcquire(keyNames[caller.index % keys]);
+    }
+}
@@ -0,0 +1,85 @@
+package com.todoapp.backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing the createdAt/updatedAt of a streamed todo list row
+ * ({@link TodoListReader#writeInstant}) against the JDK formatters. Run with
+ * {@code -Djmh.args="TimestampFormatBenchmark -prof gc"} to see bytes allocated per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimestampFormatBenchmark {
+
+    private static final int TIMESTAMPS = 1024;
+
+    private final Timestamp[] timestamps = new Timestamp[TIMESTAMPS];
+    private final StringBuilder formatted = new StringBuilder(TodoListReader.INSTANT_LENGTH);
+    private final char[] buffer = new char[TodoListReader.INSTANT_LENGTH];
+    private JsonGenerator json;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        long start = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+        for (int i = 0; i < TIMESTAMPS; i++) {
+            // Microsecond precision, as stored by the timestamp columns
+            Timestamp timestamp = new Timestamp(start + i * 7_919_000L);
+            timestamp.setNanos(i * 1_000 * 997 % 1_000_000_000);
+            timestamps[i] = timestamp;
+        }
+        json = new JsonFactory().createGenerator(OutputStream.nullOutputStream());
+        json.writeStartArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        json.close();
+    }
+
+    private Timestamp nextTimestamp() {
+        return timestamps[next++ & (TIMESTAMPS - 1)];
+    }
+
+    @Benchmark
+    public void writeInstant() throws IOException {
+        TodoListReader.writeInstant(json, nextTimestamp(), buffer);
+    }
+
+    @Benchmark
+    public void instantToString() throws IOException {
+        json.writeString(nextTimestamp().toInstant().toString());
+    }
+
+    @Benchmark
+    public void isoInstantFormatTo() throws IOException {
+        formatted.setLength(0);
+        DateTimeFormatter.ISO_INSTANT.formatTo(nextTimestamp().toInstant(), formatted);
+        formatted.getChars(0, formatted.length(), buffer, 0);
+        json.writeString(buffer, 0, formatted.length());
+    }
+}
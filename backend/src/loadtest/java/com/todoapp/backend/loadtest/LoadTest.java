@@ -0,0 +1,393 @@
+package com.todoapp.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todoapp.backend.BackendApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-model HTTP load test of the todo API.
+ *
+ * <p>Boots the application in-process on a random port against an in-memory H2 database
+ * (or targets {@code loadtest.base-url} if set), then runs {@code loadtest.users} virtual
+ * users. Each user registers, logs in and loops over a list-heavy mix of list/create/
+ * update/delete requests until {@code loadtest.duration} has elapsed. Latencies are
+ * recorded per endpoint in HDR histograms after {@code loadtest.warmup} (register and
+ * login, which run once per user, are always recorded).</p>
+ *
+ * <p>With {@code loadtest.scenario=login-flood}, {@code loadtest.flood-users} more virtual
+ * users join once the warmup is over and do nothing but log in to one shared account,
+ * without think time, until the end of the run. Their calls are reported as
+ * {@code flood-login}. A 503 from the password hashing pool counts as shed, not as an
+ * error, and the flood user waits for its Retry-After before trying again. Compare the
+ * todo endpoints with a {@code mixed} run (the default) to see what the flood costs them.</p>
+ *
+ * <p>Latency budgets are given as {@code loadtest.budgets=list.p99=200,login.p95=800}
+ * (milliseconds, percentiles p50/p95/p99/max). The process exits with status 1 when a
+ * budget is exceeded or the error rate is above {@code loadtest.max-error-rate}.</p>
+ *
+ * <p>The in-process application can be reconfigured with
+ * {@code loadtest.app-args=key=value;key=value} (Spring properties). Rate limiting is off
+ * there by default.</p>
+ *
+ * <p>Run with {@code ./mvnw -Ploadtest verify}; see the profile in pom.xml for defaults.</p>
+ */
+public final class LoadTest {
+
+    private static final String[] ENDPOINTS = {"register", "login", "list", "create", "update", "delete"};
+    private static final String FLOOD_LOGIN = "flood-login";
+    private static final String PASSWORD = "Password!23";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final HttpClient client;
+    private final String baseUrl;
+    private final long warmupEndNanos;
+    private final long endNanos;
+    private final Duration thinkTime;
+
+    private LoadTest(HttpClient client, String baseUrl, Duration warmup, Duration duration, Duration thinkTime,
+                     boolean loginFlood) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.thinkTime = thinkTime;
+        long start = System.nanoTime();
+        this.warmupEndNanos = start + warmup.toNanos();
+        this.endNanos = warmupEndNanos + duration.toNanos();
+        for (String endpoint : ENDPOINTS) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        if (loginFlood) {
+            stats.put(FLOOD_LOGIN, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 50);
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "60s"));
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "10s"));
+        Duration thinkTime = DurationStyle.detectAndParse(System.getProperty("loadtest.think-time", "0ms"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        Map<String, Long> budgets = parseBudgets(System.getProperty("loadtest.budgets", ""));
+        String baseUrl = System.getProperty("loadtest.base-url", "");
+        String scenario = System.getProperty("loadtest.scenario", "mixed");
+        if (!scenario.equals("mixed") && !scenario.equals("login-flood")) {
+            throw new IllegalArgumentException("Unknown scenario " + scenario + ", expected mixed or login-flood");
+        }
+        boolean loginFlood = scenario.equals("login-flood");
+        int floodUsers = loginFlood ? Integer.getInteger("loadtest.flood-users", 200) : 0;
+        File resultFile = new File(System.getProperty("loadtest.result-file", "target/loadtest-result.json"));
+
+        ConfigurableApplicationContext app = null;
+        if (baseUrl.isBlank()) {
+            app = startApplication();
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+        }
+
+        boolean passed;
+        try (ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(virtualUsers)
+                    .build();
+            LoadTest test = new LoadTest(client, baseUrl, warmup, duration, thinkTime, loginFlood);
+
+            System.out.printf("Load test: %d users, %s warmup, %s measured, against %s%n", users, warmup, duration, baseUrl);
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                running.add(virtualUsers.submit(() -> {
+                    test.runUser();
+                    return null;
+                }));
+            }
+            if (loginFlood) {
+                String floodEmail = test.registerFloodAccount();
+                System.out.printf("Login flood: %d more users logging in without pause after the warmup%n", floodUsers);
+                for (int i = 0; i < floodUsers; i++) {
+                    running.add(virtualUsers.submit(() -> {
+                        test.runFloodUser(floodEmail);
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> user : running) {
+                user.get();
+            }
+
+            passed = test.report(budgets, maxErrorRate, resultFile);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.profiles.active", "test");
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.threads.virtual.enabled", System.getProperty("loadtest.virtual-threads", "false"));
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.todoapp", "WARN");
+        // Every virtual user comes from 127.0.0.1 and sends without pause, which the production
+        // limits would mostly answer with 429. Re-enable with loadtest.app-args=app.rate-limit.enabled=true
+        properties.put("app.rate-limit.enabled", "false");
+        // loadtest.app-args=key=value;key=value replaces the defaults above, e.g. to compare logging setups
+        for (String part : System.getProperty("loadtest.app-args", "").split(";")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("App argument must look like key=value: " + part);
+            }
+            properties.put(part.substring(0, eq).trim(), part.substring(eq + 1).trim());
+        }
+
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        return application.run(properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+    }
+
+    // One virtual user: sign up, sign in, then a list-heavy mix until the end of the run
+    private void runUser() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String email = "load-" + UUID.randomUUID() + "@example.com";
+        List<Long> ownTodos = new ArrayList<>();
+
+        try {
+            call("register", post("/api/auth/register",
+                    "{\"name\":\"load\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}", null));
+            HttpResponse<String> login = call("login", post("/api/auth/login",
+                    "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}", null));
+            if (login == null || login.statusCode() != 200) {
+                return;
+            }
+            String token = objectMapper.readTree(login.body()).path("accessToken").asText();
+
+            while (System.nanoTime() < endNanos) {
+                int roll = random.nextInt(100);
+                if (roll < 60 || (roll >= 75 && ownTodos.isEmpty())) {
+                    call("list", request("/api/todos", token).GET().build());
+                } else if (roll < 75) {
+                    HttpResponse<String> created = call("create", post("/api/todos",
+                            "{\"title\":\"load " + random.nextInt(1_000_000) + "\",\"priority\":\"MEDIUM\"}", token));
+                    if (created != null && created.statusCode() == 201) {
+                        ownTodos.add(objectMapper.readTree(created.body()).path("data").path("id").asLong());
+                    }
+                } else if (roll < 90) {
+                    long id = ownTodos.get(random.nextInt(ownTodos.size()));
+                    call("update", request("/api/todos/" + id, token)
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString(
+                                    "{\"title\":\"updated\",\"completed\":" + random.nextBoolean() + "}"))
+                            .build());
+                } else {
+                    long id = ownTodos.remove(random.nextInt(ownTodos.size()));
+                    call("delete", request("/api/todos/" + id, token).DELETE().build());
+                }
+                if (!thinkTime.isZero()) {
+                    Thread.sleep(thinkTime);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            System.err.println("Virtual user stopped: " + ex.getMessage());
+        }
+    }
+
+    // The account all flood users log in to; registered before the flood starts, not recorded
+    private String registerFloodAccount() throws IOException, InterruptedException {
+        String email = "flood-" + UUID.randomUUID() + "@example.com";
+        HttpResponse<String> response = client.send(post("/api/auth/register",
+                "{\"name\":\"flood\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}", null),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Could not register the flood account: " + response.statusCode());
+        }
+        return email;
+    }
+
+    // One flood user: log in again and again from the end of the warmup to the end of the run
+    private void runFloodUser(String email) {
+        HttpRequest login = post("/api/auth/login",
+                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}", null);
+        try {
+            long untilWarmupEnd = warmupEndNanos - System.nanoTime();
+            if (untilWarmupEnd > 0) {
+                TimeUnit.NANOSECONDS.sleep(untilWarmupEnd);
+            }
+            while (System.nanoTime() < endNanos) {
+                HttpResponse<String> response = call(FLOOD_LOGIN, login);
+                if (response != null && response.statusCode() == 503) {
+                    long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                    TimeUnit.SECONDS.sleep(retryAfter);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpResponse<String> call(String endpoint, HttpRequest request) throws InterruptedException {
+        EndpointStats endpointStats = stats.get(endpoint);
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        boolean ok;
+        // Flood logins turned away by the hashing pool are the expected outcome, not failures
+        boolean shed = false;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            shed = FLOOD_LOGIN.equals(endpoint) && response.statusCode() == 503;
+            ok = response.statusCode() < 400 || shed;
+        } catch (IOException ex) {
+            ok = false;
+        }
+        long end = System.nanoTime();
+        // Sign-up and sign-in happen once per user, mostly during warmup, so they are always kept
+        boolean oncePerUser = "register".equals(endpoint) || "login".equals(endpoint);
+        if (oncePerUser || (start >= warmupEndNanos && end <= endNanos)) {
+            endpointStats.record(TimeUnit.NANOSECONDS.toMicros(end - start), ok, shed);
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // Prints the per-endpoint table, writes the JSON result and checks budgets
+    private boolean report(Map<String, Long> budgets, double maxErrorRate, File resultFile) throws IOException {
+        boolean passed = true;
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        System.out.printf("%n%-11s %9s %8s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "shed", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            String endpoint = entry.getKey();
+            EndpointStats s = entry.getValue();
+            Histogram h = s.histogram;
+            long count = h.getTotalCount();
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            percentiles.put("p50", millis(h.getValueAtPercentile(50)));
+            percentiles.put("p95", millis(h.getValueAtPercentile(95)));
+            percentiles.put("p99", millis(h.getValueAtPercentile(99)));
+            percentiles.put("max", millis(h.getMaxValue()));
+
+            System.out.printf("%-11s %9d %8d %8d %9.2f %9.2f %9.2f %9.2f%n", endpoint, count, s.errors.sum(),
+                    s.shed.sum(), percentiles.get("p50"), percentiles.get("p95"), percentiles.get("p99"),
+                    percentiles.get("max"));
+
+            Map<String, Object> endpointResult = new LinkedHashMap<>(percentiles);
+            endpointResult.put("requests", count);
+            endpointResult.put("errors", s.errors.sum());
+            endpointResult.put("shed", s.shed.sum());
+            result.put(endpoint, endpointResult);
+
+            if (count > 0 && (double) s.errors.sum() / count > maxErrorRate) {
+                System.out.printf("FAIL %s: error rate %.2f%% above %.2f%%%n", endpoint,
+                        100.0 * s.errors.sum() / count, 100 * maxErrorRate);
+                passed = false;
+            }
+        }
+
+        for (Map.Entry<String, Long> budget : budgets.entrySet()) {
+            String[] key = budget.getKey().split("\\.");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> endpointResult = (Map<String, Object>) result.get(key[0]);
+            if (endpointResult == null || !endpointResult.containsKey(key[1])) {
+                throw new IllegalArgumentException("Unknown budget " + budget.getKey());
+            }
+            double actual = (Double) endpointResult.get(key[1]);
+            if (actual > budget.getValue()) {
+                System.out.printf("FAIL %s: %.2f ms over budget of %d ms%n", budget.getKey(), actual, budget.getValue());
+                passed = false;
+            }
+        }
+
+        resultFile.getParentFile().mkdirs();
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile, result);
+        System.out.println((passed ? "PASSED" : "FAILED") + ", results written to " + resultFile);
+        return passed;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    // "list.p99=200,login.p95=800" -> {list.p99=200, login.p95=800}
+    private static Map<String, Long> parseBudgets(String spec) {
+        Map<String, Long> budgets = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] keyValue = part.trim().split("=");
+            if (keyValue.length != 2 || !keyValue[0].contains(".")) {
+                throw new IllegalArgumentException("Budget must look like endpoint.p99=ms: " + part);
+            }
+            budgets.put(keyValue[0].trim(), Long.parseLong(keyValue[1].trim()));
+        }
+        return budgets;
+    }
+
+    private static final class EndpointStats {
+        // Microseconds, up to one minute, 3 significant digits
+        private final Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder shed = new LongAdder();
+
+        void record(long micros, boolean ok, boolean rejected) {
+            histogram.recordValue(Math.min(micros, histogram.getHighestTrackableValue()));
+            if (!ok) {
+                errors.increment();
+            }
+            if (rejected) {
+                shed.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.todoapp.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary alternatives to JSON for clients that ask for them with {@code Accept}.
+ *
+ * <ul>
+ *   <li>{@code application/cbor} - CBOR (RFC 8949)</li>
+ *   <li>{@code application/x-jackson-smile} - Smile; repeated field names are written once
+ *       and back-referenced, which suits long todo lists</li>
+ * </ul>
+ *
+ * <p>Both mappers come from Boot's {@link Jackson2ObjectMapperBuilder}, so they share the
+ * JSON mapper's modules and {@code spring.jackson.*} settings and a body has the same
+ * fields in every format. They replace the default converters of the same type, which
+ * Spring MVC places after JSON, so {@code Accept: *}{@code /*} still gets JSON.
+ * Request bodies can be sent in the same formats.</p>
+ *
+ * <p>Response compression (gzip) is configured with {@code server.compression.*}; see
+ * {@link DeferredCommitFilter} for why the size threshold needs help.</p>
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    /**
+     * @param builder Boot's Jackson builder (a new instance per injection point)
+     * @return converter for application/cbor
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * @param builder Boot's Jackson builder (a new instance per injection point)
+     * @return converter for application/x-jackson-smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Keep converter flushes from committing small /api responses before their length is known.
+     *
+     * @return registration of the deferred commit filter for /api/*
+     */
+    @Bean
+    public FilterRegistrationBean<DeferredCommitFilter> deferredCommitFilter() {
+        FilterRegistrationBean<DeferredCommitFilter> registration = new FilterRegistrationBean<>(new DeferredCommitFilter());
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
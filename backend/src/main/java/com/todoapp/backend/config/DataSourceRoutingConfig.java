@@ -0,0 +1,102 @@
+package com.todoapp.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica support, enabled with {@code app.datasource.replica.enabled=true}.
+ *
+ * <p>Replaces Boot's single pool with two: the primary ({@code spring.datasource.*},
+ * including {@code spring.datasource.hikari.*}) and the replica
+ * ({@code app.datasource.replica.*}). The application's {@code DataSource} routes each
+ * transaction between them, see {@link ReplicaRoutingDataSource}. Flyway migrates the
+ * primary only.</p>
+ *
+ * <p>Hibernate is told to give its connection back after every transaction. By default it
+ * holds on to it for the whole request (open session in view), and the first transaction
+ * would then pick the database for all later ones.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * @param properties Boot's spring.datasource.* properties
+     * @return pool of the primary
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    /**
+     * @return read-only pool of the replica
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username}") String username,
+                                              @Value("${app.datasource.replica.password}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    /**
+     * @return the router, also a bean so its replica health check is scheduled
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.replica.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesWindow);
+    }
+
+    /**
+     * The DataSource used by JPA, JdbcTemplate and the transaction manager.
+     *
+     * @param router Routing data source
+     * @return lazy proxy that fetches the routed connection at the first statement
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource router) {
+        return new LazyConnectionDataSourceProxy(router);
+    }
+
+    /**
+     * Release the JDBC connection after each transaction instead of at the end of the request.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
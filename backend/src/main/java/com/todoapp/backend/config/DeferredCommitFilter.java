@@ -0,0 +1,111 @@
+package com.todoapp.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Lets Tomcat see the length of small response bodies so the compression threshold
+ * ({@code server.compression.min-response-size}) applies to them.
+ *
+ * <p>Spring MVC flushes the response after writing a body (the message converter flushes
+ * the stream, then the handler flushes the buffer). Flushing commits the response before
+ * Tomcat knows the length, so it is sent chunked and always gzipped, however small. This
+ * filter ignores flushes until the response is committed: a body that fits in Tomcat's
+ * buffer gets a Content-Length on close (and is compressed only above the threshold), a
+ * larger one is committed by the buffer filling up and streams as before. Event streams
+ * ({@code text/event-stream}) are flushed as usual, each event has to reach the client
+ * when it is sent.</p>
+ */
+public class DeferredCommitFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, new DeferredCommitResponse(response));
+    }
+
+    // Before the commit there is nothing the client could use yet, except on an event stream
+    private static boolean flushNow(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return response.isCommitted() || (contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    private static final class DeferredCommitResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+
+        DeferredCommitResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (flushNow(this)) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DeferredFlushOutputStream(getResponse().getOutputStream(), this);
+            }
+            return outputStream;
+        }
+    }
+
+    private static final class DeferredFlushOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final HttpServletResponse response;
+
+        DeferredFlushOutputStream(ServletOutputStream delegate, HttpServletResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (flushNow(response)) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.todoapp.backend.config;
+
+import com.todoapp.backend.logging.DroppingAsyncAppender;
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.security.BoundedPasswordEncoder;
+import com.todoapp.backend.security.RateLimiter;
+import com.todoapp.backend.service.TodoListCache;
+import com.todoapp.backend.service.TodoStreamService;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters on top of what Spring Boot binds by itself.
+ *
+ * <p>Boot already publishes {@code http.server.requests} (tagged with uri, method, status
+ * and outcome), Hikari pool gauges ({@code hikaricp.connections.*}, where
+ * {@code pending > 0} means the pool is saturated) and Hibernate statistics. This adds:</p>
+ * <ul>
+ *   <li>a {@code handler} tag (e.g. {@code TodoController#getAllTodos}) on http.server.requests</li>
+ *   <li>BCrypt pool metrics ({@code password.hash*})</li>
+ *   <li>per-user todo list cache metrics ({@code cache.*{cache="todo.list"}})</li>
+ *   <li>log events dropped by the async appender ({@code logging.events.dropped})</li>
+ *   <li>open SSE todo streams and streams dropped for not keeping up ({@code todo.stream.*})</li>
+ *   <li>rate limited and allowed requests per route group ({@code rate.limit.*})</li>
+ *   <li>hit ratio of the User second-level cache regions
+ *       ({@code hibernate.second.level.cache.hit.ratio{region}})</li>
+ *   <li>with a read replica: where read-only transactions went and whether the replica is
+ *       up ({@code datasource.routing.reads}, {@code datasource.replica.up})</li>
+ * </ul>
+ *
+ * <p>JWT validation is timed in {@code JwtAuthenticationFilter} ({@code jwt.validation}).
+ * Histogram buckets for all timers are set with {@code management.metrics.distribution.*}.</p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Tag request timings with the controller method that handled them.
+     */
+    @Bean
+    public ServerRequestObservationConvention handlerTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    /**
+     * Queue depth, active hashes, rejections and hash time of the BCrypt pool.
+     *
+     * @param encoder The bounded password encoder bean
+     * @return binder registering the password.hash meters
+     */
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder encoder) {
+        return registry -> {
+            Gauge.builder("password.hash.queue.depth", encoder, BoundedPasswordEncoder::getQueueDepth)
+                    .description("Password hash calls waiting for a hashing thread")
+                    .register(registry);
+            Gauge.builder("password.hash.active", encoder, BoundedPasswordEncoder::getActiveCount)
+                    .description("Password hashes currently running")
+                    .register(registry);
+            FunctionCounter.builder("password.hash.rejected", encoder, BoundedPasswordEncoder::getRejectedCount)
+                    .description("Password hash calls rejected with 503 because the queue was full")
+                    .register(registry);
+            FunctionTimer.builder("password.hash", encoder, BoundedPasswordEncoder::getHashCount,
+                            BoundedPasswordEncoder::getTotalHashTimeNanos, TimeUnit.NANOSECONDS)
+                    .description("BCrypt encode/matches time, excluding queue wait")
+                    .register(registry);
+            TimeGauge.builder("password.hash.max", encoder, TimeUnit.NANOSECONDS, BoundedPasswordEncoder::getMaxHashTimeNanos)
+                    .description("Slowest password hash since startup")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Hit/miss/eviction counters and size of the per-user todo list cache.
+     *
+     * @param todoListCache The todo list cache bean
+     * @return binder registering the cache meters
+     */
+    @Bean
+    public MeterBinder todoListCacheMetrics(TodoListCache todoListCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, todoListCache.nativeCache(), "todo.list");
+    }
+
+    /**
+     * Log events dropped by the non-blocking async appender of the prod logging profile.
+     *
+     * @return binder registering logging.events.dropped
+     */
+    @Bean
+    public MeterBinder droppedLogEventsMetrics() {
+        return registry -> FunctionCounter.builder("logging.events.dropped", DroppingAsyncAppender.class,
+                        appender -> DroppingAsyncAppender.droppedEvents())
+                .description("Log events dropped because the async logging queue was full")
+                .register(registry);
+    }
+
+    /**
+     * Open todo event streams and slow streams that were disconnected.
+     *
+     * @param todoStreamService The SSE stream service bean
+     * @return binder registering the todo.stream meters
+     */
+    @Bean
+    public MeterBinder todoStreamMetrics(TodoStreamService todoStreamService) {
+        return registry -> {
+            Gauge.builder("todo.stream.open", todoStreamService, TodoStreamService::getOpenStreams)
+                    .description("Open GET /api/todos/stream connections")
+                    .register(registry);
+            FunctionCounter.builder("todo.stream.dropped", todoStreamService, TodoStreamService::getDroppedStreams)
+                    .description("Streams closed because the client did not read events fast enough")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Requests allowed and rejected (429) by each rate limit group, and buckets held.
+     *
+     * @param authRateLimiter Limiter for /api/auth/** (per client IP)
+     * @param apiRateLimiter Limiter for the rest of /api/** (per user)
+     * @return binder registering the rate.limit meters
+     */
+    @Bean
+    public MeterBinder rateLimitMetrics(@Qualifier("authRateLimiter") RateLimiter authRateLimiter,
+                                        @Qualifier("apiRateLimiter") RateLimiter apiRateLimiter) {
+        return registry -> {
+            for (Map.Entry<String, RateLimiter> group : Map.of("auth", authRateLimiter, "api", apiRateLimiter).entrySet()) {
+                RateLimiter limiter = group.getValue();
+                FunctionCounter.builder("rate.limit.requests", limiter, RateLimiter::getAllowedCount)
+                        .description("Requests checked by the rate limiter, by result")
+                        .tags("group", group.getKey(), "result", "allowed")
+                        .register(registry);
+                FunctionCounter.builder("rate.limit.requests", limiter, RateLimiter::getRejectedCount)
+                        .description("Requests checked by the rate limiter, by result")
+                        .tags("group", group.getKey(), "result", "rejected")
+                        .register(registry);
+                Gauge.builder("rate.limit.buckets", limiter, RateLimiter::size)
+                        .description("Callers with a live rate limit bucket")
+                        .tag("group", group.getKey())
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Hit ratio of the User entity and email natural id cache regions. Hibernate's meters
+     * have the hit and miss counts; this saves dividing them in every dashboard.
+     *
+     * @param entityManagerFactory The JPA entity manager factory
+     * @return binder registering hibernate.second.level.cache.hit.ratio
+     */
+    @Bean
+    public MeterBinder userCacheHitRatioMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String region : List.of(User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION)) {
+                Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, s -> hitRatio(s.getCacheRegionStatistics(region)))
+                        .description("Share of second-level cache lookups answered from the cache")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Read-only transactions by route and replica health, when a read replica is configured.
+     *
+     * @param router Routing data source, absent without app.datasource.replica.enabled
+     * @return binder registering the datasource.routing/replica meters
+     */
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ObjectProvider<ReplicaRoutingDataSource> router) {
+        return registry -> router.ifAvailable(routing -> {
+            for (ReplicaRoutingDataSource.ReadRoute route : ReplicaRoutingDataSource.ReadRoute.values()) {
+                FunctionCounter.builder("datasource.routing.reads", routing, r -> r.getReadCount(route))
+                        .description("Read-only transactions by the database they read and why")
+                        .tag("route", route.getTag())
+                        .register(registry);
+            }
+            Gauge.builder("datasource.replica.up", routing, r -> r.isReplicaUp() ? 1 : 0)
+                    .description("1 while read-only transactions may use the replica, 0 while it is down")
+                    .register(registry);
+        });
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) {
+            return Double.NaN;
+        }
+        long lookups = region.getHitCount() + region.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) region.getHitCount() / lookups;
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return KeyValue.of("handler", method.getBeanType().getSimpleName() + "#" + method.getMethod().getName());
+        }
+        return KeyValue.of("handler", "none");
+    }
+}
@@ -0,0 +1,200 @@
+package com.todoapp.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todoapp.backend.security.AuthenticatedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Sends read-only transactions to the read replica and everything else to the primary.
+ *
+ * <p>A read-only transaction reads the primary instead when</p>
+ * <ul>
+ *   <li>there is no authenticated user (login, background work): credentials and fresh
+ *       registrations must not be read from a replica that is behind</li>
+ *   <li>the user committed a write less than {@code readYourWritesWindow} ago, so they see
+ *       their own change (read-your-writes; the window should exceed the replication lag)</li>
+ *   <li>the replica is down: a failed connection attempt marks it down and
+ *       {@link #checkReplica()} marks it up again once a connection validates</li>
+ * </ul>
+ *
+ * <p>The decision is made when a connection is taken from the pool, so this has to sit
+ * behind a {@code LazyConnectionDataSourceProxy}: the transaction manager gets its
+ * connection before the read-only flag of the transaction is published and the actual
+ * connection is only fetched at the first statement. Recent writers are remembered per
+ * instance, in memory.</p>
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Far above the users writing within one window; evicting one early only risks a stale read
+    private static final long MAX_RECENT_WRITERS = 100_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    /** Where a read-only transaction was sent, and why (tag of datasource.routing.reads). */
+    public enum ReadRoute {
+        REPLICA("replica"),
+        RECENT_WRITE("recent-write"),
+        NO_USER("no-user"),
+        REPLICA_DOWN("replica-down");
+
+        private final String tag;
+
+        ReadRoute(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Cache<Long, Boolean> recentWriters;
+    private final LongAdder[] reads = new LongAdder[ReadRoute.values().length];
+    private volatile boolean replicaUp = true;
+
+    /**
+     * @param primary Pool of the primary, for writes and reads that must be current
+     * @param replica Pool of the read replica
+     * @param readYourWritesWindow How long a user's reads stay on the primary after their write
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this(primary, replica, readYourWritesWindow, System::nanoTime);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow, LongSupplier clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(MAX_RECENT_WRITERS)
+                .expireAfterWrite(readYourWritesWindow.toNanos(), TimeUnit.NANOSECONDS)
+                .ticker(clock::getAsLong)
+                .build();
+        for (int i = 0; i < reads.length; i++) {
+            reads[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return primary.getConnection();
+        }
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit(userId);
+            return primary.getConnection();
+        }
+
+        ReadRoute route = userId == null ? ReadRoute.NO_USER
+                : recentWriters.getIfPresent(userId) != null ? ReadRoute.RECENT_WRITE
+                : replicaUp ? ReadRoute.REPLICA
+                : ReadRoute.REPLICA_DOWN;
+        if (route == ReadRoute.REPLICA) {
+            try {
+                Connection connection = replica.getConnection();
+                reads[route.ordinal()].increment();
+                return connection;
+            } catch (SQLException ex) {
+                markReplicaDown(ex);
+                route = ReadRoute.REPLICA_DOWN;
+            }
+        }
+        reads[route.ordinal()].increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured per pool");
+    }
+
+    /**
+     * Mark the replica up again once it hands out a valid connection (or down if it no
+     * longer does).
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-interval:5s}",
+            initialDelayString = "${app.datasource.replica.health-check-interval:5s}")
+    public void checkReplica() {
+        try (Connection connection = replica.getConnection()) {
+            if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                if (!replicaUp) {
+                    logger.info("Read replica is reachable again, routing read-only transactions to it");
+                }
+                replicaUp = true;
+                return;
+            }
+            markReplicaDown(null);
+        } catch (SQLException ex) {
+            markReplicaDown(ex);
+        }
+    }
+
+    /**
+     * Keep the user's reads on the primary for the read-your-writes window.
+     *
+     * @param userId User who committed a write
+     */
+    public void recordWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isReplicaUp() {
+        return replicaUp;
+    }
+
+    /**
+     * @param route Route of a read-only transaction
+     * @return read-only transactions sent that way since startup
+     */
+    public long getReadCount(ReadRoute route) {
+        return reads[route.ordinal()].sum();
+    }
+
+    private void markReplicaDown(SQLException cause) {
+        if (replicaUp) {
+            logger.warn("Read replica unavailable, reading from the primary until it recovers: {}",
+                    cause == null ? "connection not valid" : cause.getMessage());
+        }
+        replicaUp = false;
+    }
+
+    // Any committed read-write transaction counts as a write, whether it changed rows or not
+    private void rememberWriteOnCommit(Long userId) {
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(userId);
+            }
+        });
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -1,26 +1,37 @@
 package com.todoapp.backend.config;
 
+import com.todoapp.backend.security.BoundedPasswordEncoder;
 import com.todoapp.backend.security.JwtAuthenticationFilter;
+import com.todoapp.backend.security.RateLimitFilter;
+import com.todoapp.backend.security.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -33,6 +44,7 @@ import java.util.List;
  *   <li>Configures stateless session management</li>
  *   <li>Sets up public and protected endpoints</li>
  *   <li>Integrates JWT authentication filter</li>
+ *   <li>Rate limits /api/** per user and /api/auth/** per client IP (429 + Retry-After)</li>
  * </ul>
  * 
  * <p><b>Public Endpoints:</b></p>
@@ -40,12 +52,14 @@ import java.util.List;
  *   <li>/api/auth/** - Registration and login</li>
  *   <li>/error - Error handling</li>
  *   <li>/public/** - Public resources</li>
+ *   <li>/actuator/health - Health checks</li>
  * </ul>
  * 
  * <p><b>Protected Endpoints:</b></p>
  * <ul>
  *   <li>/api/todos/** - Requires valid JWT token</li>
  *   <li>All other /api/** endpoints - Requires authentication</li>
+ *   <li>/actuator/prometheus - HTTP Basic with the scrape credentials (ROLE_METRICS)</li>
  * </ul>
  */
 @Configuration
@@ -58,13 +72,23 @@ public class SecurityConfig {
     /**
      * Password encoder bean using BCrypt hashing algorithm.
      * BCrypt automatically handles salt generation and is resistant to brute-force attacks.
+     * Hashing runs on a dedicated pool so login/register bursts cannot take every request
+     * thread; when the pool queue is full callers get a 503 instead of waiting.
      * 
-     * @return BCryptPasswordEncoder instance
+     * @param threads Hashing threads (0 = number of available processors)
+     * @param queueCapacity Hash calls allowed to wait for a thread
+     * @param retryAfterSeconds Retry-After sent when the queue is full
+     * @return BCryptPasswordEncoder wrapped in a BoundedPasswordEncoder
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        logger.info("Initializing BCryptPasswordEncoder for password hashing");
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${app.password-hashing.threads:0}") int threads,
+            @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        logger.info("Initializing BCryptPasswordEncoder for password hashing ({} threads, queue {})",
+                poolSize, queueCapacity);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, retryAfterSeconds);
     }
 
     /**
@@ -81,17 +105,105 @@ public class SecurityConfig {
         return configuration.getAuthenticationManager();
     }
 
+    /**
+     * Request budget per client IP for /api/auth/** (login and register run BCrypt).
+     *
+     * @param capacity Requests allowed in a burst
+     * @param refillPerSecond Sustained requests per second
+     * @param idleTimeout Idle buckets are evicted after this long
+     * @param maxKeys Maximum buckets held at once
+     * @return limiter used by the rate limit filter
+     */
+    @Bean
+    public RateLimiter authRateLimiter(
+            @Value("${app.rate-limit.auth.capacity:10}") long capacity,
+            @Value("${app.rate-limit.auth.refill-per-second:1}") double refillPerSecond,
+            @Value("${app.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${app.rate-limit.max-keys:100000}") long maxKeys) {
+        logger.info("Auth rate limit: burst {}, {}/s per client IP", capacity, refillPerSecond);
+        return new RateLimiter(capacity, refillPerSecond, idleTimeout, maxKeys);
+    }
+
+    /**
+     * Request budget per user for the rest of /api/**.
+     *
+     * @param capacity Requests allowed in a burst
+     * @param refillPerSecond Sustained requests per second
+     * @param idleTimeout Idle buckets are evicted after this long
+     * @param maxKeys Maximum buckets held at once
+     * @return limiter used by the rate limit filter
+     */
+    @Bean
+    public RateLimiter apiRateLimiter(
+            @Value("${app.rate-limit.api.capacity:100}") long capacity,
+            @Value("${app.rate-limit.api.refill-per-second:20}") double refillPerSecond,
+            @Value("${app.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${app.rate-limit.max-keys:100000}") long maxKeys) {
+        logger.info("API rate limit: burst {}, {}/s per user", capacity, refillPerSecond);
+        return new RateLimiter(capacity, refillPerSecond, idleTimeout, maxKeys);
+    }
+
+    /**
+     * Security for the Prometheus scrape endpoint, checked before the main chain.
+     *
+     * <p>The scraper authenticates with HTTP Basic using {@code app.metrics.scrape-username}
+     * and {@code app.metrics.scrape-password}. The password is compared in constant time
+     * rather than hashed, so scrapes and guesses never reach the BCrypt pool. Without a
+     * configured password every request is rejected.</p>
+     *
+     * @param http HttpSecurity builder
+     * @param username Scrape user name
+     * @param password Scrape password; blank disables scraping
+     * @return SecurityFilterChain for /actuator/prometheus
+     * @throws Exception if configuration fails
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsSecurityFilterChain(HttpSecurity http,
+                                                          @Value("${app.metrics.scrape-username:prometheus}") String username,
+                                                          @Value("${app.metrics.scrape-password:}") String password) throws Exception {
+        if (password.isBlank()) {
+            logger.warn("app.metrics.scrape-password is not set; /actuator/prometheus rejects all requests");
+        }
+        byte[] expected = password.getBytes(StandardCharsets.UTF_8);
+        AuthenticationManager scrapeAuthentication = authentication -> {
+            byte[] presented = String.valueOf(authentication.getCredentials()).getBytes(StandardCharsets.UTF_8);
+            if (expected.length == 0 || !username.equals(authentication.getName())
+                    || !MessageDigest.isEqual(expected, presented)) {
+                throw new BadCredentialsException("Invalid scrape credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(username, null,
+                    List.of(new SimpleGrantedAuthority("ROLE_METRICS")));
+        };
+
+        http
+            .securityMatcher("/actuator/prometheus")
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"))
+            .authenticationManager(scrapeAuthentication)
+            .httpBasic(basic -> basic.realmName("metrics"))
+            .formLogin(AbstractHttpConfigurer::disable);
+        return http.build();
+    }
+
     /**
      * Main security filter chain configuration.
      * Configures all security aspects including CSRF, CORS, session management, and authorization rules.
      * 
      * @param http HttpSecurity builder
      * @param jwtFilter Custom JWT authentication filter
+     * @param authRateLimiter Budget per client IP for /api/auth/**
+     * @param apiRateLimiter Budget per user for the rest of /api/**
+     * @param rateLimitEnabled Whether to add the rate limit filter at all
      * @return Configured SecurityFilterChain
      * @throws Exception if configuration fails
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtFilter) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtFilter,
+                                                   @Qualifier("authRateLimiter") RateLimiter authRateLimiter,
+                                                   @Qualifier("apiRateLimiter") RateLimiter apiRateLimiter,
+                                                   @Value("${app.rate-limit.enabled:true}") boolean rateLimitEnabled) throws Exception {
         logger.info("Configuring Security Filter Chain");
         
         http
@@ -122,7 +234,7 @@ public class SecurityConfig {
                 .requestMatchers("/error").permitAll()
                 .requestMatchers("/public/**").permitAll()
                 
-                // Health check endpoints (optional)
+                // Health check; /actuator/prometheus has its own chain (metricsSecurityFilterChain)
                 .requestMatchers("/actuator/health").permitAll()
                 
                 // All other /api/** endpoints require authentication
@@ -141,6 +253,11 @@ public class SecurityConfig {
             // Disable form login (we're using JWT)
             .formLogin(AbstractHttpConfigurer::disable);
 
+        // Rate limit after the JWT filter so authenticated requests are keyed by user
+        if (rateLimitEnabled) {
+            http.addFilterAfter(new RateLimitFilter(authRateLimiter, apiRateLimiter), JwtAuthenticationFilter.class);
+        }
+
         logger.info("Security Filter Chain configured successfully");
         return http.build();
     }
@@ -187,7 +304,8 @@ public class SecurityConfig {
         // Expose headers to frontend
         config.setExposedHeaders(List.of(
             "Authorization",
-            "X-Total-Count"
+            "X-Total-Count",
+            "Retry-After"
         ));
         
         // Allow credentials (cookies, authorization headers)
@@ -5,8 +5,10 @@ import com.todoapp.backend.dto.request.RegisterRequestDTO;
 import com.todoapp.backend.dto.response.AuthResponseDTO;
 import com.todoapp.backend.dto.response.VerifyResponseDTO;
 import com.todoapp.backend.model.User;
+import com.todoapp.backend.security.AuthenticatedUser;
 import com.todoapp.backend.security.JwtUtil;
 import com.todoapp.backend.service.UserService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -42,7 +44,7 @@ public class AuthController {
         }
         try {
             User user = userService.register(req.getName(), req.getEmail(), req.getPassword());
-            String token = jwtUtil.generateToken(user.getEmail());
+            String token = jwtUtil.generateToken(userService.toPrincipal(user));
             return ResponseEntity
                     .status(HttpStatus.CREATED)
                     .body(new AuthResponseDTO(token, "Registered successfully"));
@@ -65,7 +67,9 @@ public class AuthController {
             Authentication auth = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())
             );
-            String token = jwtUtil.generateToken(auth.getName());
+            String token = auth.getPrincipal() instanceof AuthenticatedUser principal
+                    ? jwtUtil.generateToken(principal)
+                    : jwtUtil.generateToken(auth.getName());
             return ResponseEntity
                     .ok(new AuthResponseDTO(token, "Login successful"));
         } catch (AuthenticationException ex) {
@@ -83,12 +87,12 @@ public class AuthController {
         }
 
         String token = authHeader.substring(7);
-        boolean valid = jwtUtil.validateToken(token);
-        if (!valid) {
+        Claims claims = jwtUtil.getClaims(token);
+        if (claims == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        String subject = jwtUtil.getSubject(token);
+        String subject = claims.getSubject();
         String name = null;
         try {
             var userOpt = userService.findByEmail(subject);
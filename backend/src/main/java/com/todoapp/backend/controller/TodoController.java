@@ -1,18 +1,45 @@
 package com.todoapp.backend.controller;
 
+import com.todoapp.backend.dto.request.TodoBatchRequestDTO;
+import com.todoapp.backend.dto.request.TodoPatchDTO;
 import com.todoapp.backend.dto.request.TodoRequestDTO;
 import com.todoapp.backend.dto.response.ApiResponseDTO;
+import com.todoapp.backend.dto.response.TodoBatchResultDTO;
+import com.todoapp.backend.dto.response.TodoPageDTO;
+import com.todoapp.backend.dto.response.TodoPatchResultDTO;
 import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.dto.response.TodoSearchPageDTO;
+import com.todoapp.backend.model.Priority;
 import com.todoapp.backend.model.Todo;
 import com.todoapp.backend.model.User;
+import com.todoapp.backend.repository.TodoChangesCursor;
+import com.todoapp.backend.repository.TodoCursor;
 import com.todoapp.backend.repository.TodoRepository;
+import com.todoapp.backend.repository.TodoSpecifications;
 import com.todoapp.backend.repository.UserRepository;
+import com.todoapp.backend.security.AuthenticatedUser;
+import com.todoapp.backend.service.TodoExportService;
+import com.todoapp.backend.service.TodoListCache;
+import com.todoapp.backend.service.TodoListReader;
+import com.todoapp.backend.service.TodoSearchService;
+import com.todoapp.backend.service.TodoStreamService;
+import com.todoapp.backend.service.TodoSyncService;
+import com.todoapp.backend.service.TodoService;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @RestController
@@ -20,118 +47,358 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:3000")
 public class TodoController {
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final String INVALID_PRIORITY = "priority must be one of LOW, MEDIUM, HIGH";
+
+    // Browsers keep the list but revalidate it with If-None-Match on every use
+    private static final CacheControl LIST_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final TodoRepository todoRepository;
     private final UserRepository userRepository;
+    private final TodoService todoService;
+    private final TodoExportService todoExportService;
+    private final TodoListCache todoListCache;
+    private final TodoListReader todoListReader;
+    private final TodoSearchService todoSearchService;
+    private final TodoSyncService todoSyncService;
+    private final TodoStreamService todoStreamService;
 
-    public TodoController(TodoRepository todoRepository, UserRepository userRepository) {
+    public TodoController(TodoRepository todoRepository, UserRepository userRepository,
+                          TodoService todoService, TodoExportService todoExportService,
+                          TodoListCache todoListCache, TodoListReader todoListReader,
+                          TodoSearchService todoSearchService,
+                          TodoSyncService todoSyncService, TodoStreamService todoStreamService) {
         this.todoRepository = todoRepository;
         this.userRepository = userRepository;
+        this.todoService = todoService;
+        this.todoExportService = todoExportService;
+        this.todoListCache = todoListCache;
+        this.todoListReader = todoListReader;
+        this.todoSearchService = todoSearchService;
+        this.todoSyncService = todoSyncService;
+        this.todoStreamService = todoStreamService;
     }
 
     // ---------------- GET ALL TODOS ----------------
+    // Without "limit"/"cursor" the full list is returned as before. With them, the
+    // response data is a TodoPageDTO and the next page is requested with its nextCursor.
+    // Lists are served from the per-user TodoListCache when possible, else from the database
+    // (unpaged lists streamed row by row by TodoListReader, pages through JPA).
+    // The ETag is derived from the user's change version, so a matching If-None-Match is
+    // answered with 304 after a single version lookup, before any todo row is read.
     @GetMapping
     public ResponseEntity<ApiResponseDTO> getAllTodos(
             @RequestParam(required = false) String priority,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Boolean completed,
-            Authentication authentication
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            WebRequest webRequest
     ) {
-        String userEmail = authentication.getName();
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<Todo> todos = todoRepository.findAll().stream()
-                .filter(t -> t.getUser().getId().equals(user.getId()))
-                .collect(Collectors.toList());
+        boolean paged = cursor != null || limit != null;
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (paged && (pageSize < 1 || pageSize > MAX_PAGE_SIZE)) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponseDTO(400, "limit must be between 1 and " + MAX_PAGE_SIZE, null));
+        }
 
+        Priority priorityFilter = null;
         if (priority != null && !priority.isEmpty()) {
-            todos = todos.stream()
-                    .filter(t -> priority.equals(t.getPriority()))
-                    .collect(Collectors.toList());
+            if (!Priority.isValid(priority)) {
+                return ResponseEntity.badRequest().body(new ApiResponseDTO(400, INVALID_PRIORITY, null));
+            }
+            priorityFilter = Priority.parse(priority);
+        }
+
+        TodoCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                after = TodoCursor.decode(cursor);
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.badRequest().body(new ApiResponseDTO(400, ex.getMessage(), null));
+            }
+        }
+
+        long version = todoService.currentVersion(principal.getId());
+        String etag = listETag(principal.getId(), version, priority, category, completed, cursor, limit, includeTotal);
+        // Sets the ETag header, and the 304 status when it matches
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
 
-        if (category != null && !category.isEmpty()) {
-            todos = todos.stream()
-                    .filter(t -> category.equals(t.getCategory()))
-                    .collect(Collectors.toList());
+        List<TodoResponseDTO> cached = todoListCache.getList(principal.getId(), version);
+        if (cached != null) {
+            return listFromCache(cached, priorityFilter, category, completed, paged, after, pageSize, includeTotal);
         }
 
-        if (completed != null) {
-            todos = todos.stream()
-                    .filter(t -> completed == t.isCompleted())
-                    .collect(Collectors.toList());
+        if (!paged) {
+            // Too large to cache: rows are written to the response as they are read
+            return cacheableOk()
+                    .body(new ApiResponseDTO(200, "Todos fetched successfully",
+                            todoListReader.stream(principal.getId(), priorityFilter, category, completed)));
         }
 
-        List<TodoResponseDTO> response = todos.stream()
+        Specification<Todo> filter = TodoSpecifications.forUser(principal.getId(), priorityFilter, category, completed);
+
+        Specification<Todo> pageSpec = after == null ? filter : filter.and(TodoSpecifications.after(after));
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        List<Todo> rows = todoRepository.findBy(pageSpec, q -> q
+                .sortBy(TodoSpecifications.KEYSET_ORDER)
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Todo> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? TodoCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        List<TodoResponseDTO> items = page.stream()
                 .map(TodoResponseDTO::fromEntity)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(new ApiResponseDTO(200, "Todos fetched successfully", response));
+        ResponseEntity.BodyBuilder ok = cacheableOk();
+        if (includeTotal) {
+            ok.header(TOTAL_COUNT_HEADER, String.valueOf(todoRepository.count(filter)));
+        }
+        return ok.body(new ApiResponseDTO(200, "Todos fetched successfully", new TodoPageDTO(items, nextCursor)));
+    }
+
+    // Same filtering and keyset paging as the database path, applied to the cached base list.
+    private ResponseEntity<ApiResponseDTO> listFromCache(List<TodoResponseDTO> all,
+                                                         Priority priority, String category, Boolean completed,
+                                                         boolean paged, TodoCursor after, int pageSize,
+                                                         boolean includeTotal) {
+        List<TodoResponseDTO> filtered = all.stream()
+                .filter(t -> priority == null || priority.name().equals(t.getPriority()))
+                .filter(t -> category == null || category.isEmpty() || category.equals(t.getCategory()))
+                .filter(t -> completed == null || completed == t.isCompleted())
+                .collect(Collectors.toList());
+
+        if (!paged) {
+            return cacheableOk()
+                    .body(new ApiResponseDTO(200, "Todos fetched successfully", filtered));
+        }
+
+        List<TodoResponseDTO> remaining = after == null ? filtered : filtered.stream()
+                .filter(t -> after.isFollowedBy(t.getCreatedAt(), t.getId()))
+                .collect(Collectors.toList());
+
+        boolean hasMore = remaining.size() > pageSize;
+        List<TodoResponseDTO> items = hasMore ? remaining.subList(0, pageSize) : remaining;
+        String nextCursor = null;
+        if (hasMore) {
+            TodoResponseDTO last = items.get(items.size() - 1);
+            nextCursor = new TodoCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        ResponseEntity.BodyBuilder ok = cacheableOk();
+        if (includeTotal) {
+            ok.header(TOTAL_COUNT_HEADER, String.valueOf(filtered.size()));
+        }
+        return ok.body(new ApiResponseDTO(200, "Todos fetched successfully", new TodoPageDTO(items, nextCursor)));
+    }
+
+    // Weak ETag: same user, version and query parameters always produce the same content,
+    // but the bytes differ by negotiated format (JSON, CBOR, Smile) and gzip. Tomcat also
+    // refuses to compress responses carrying a strong ETag.
+    private static String listETag(Long userId, long version, String priority, String category, Boolean completed,
+                                   String cursor, Integer limit, boolean includeTotal) {
+        int query = Objects.hash(priority, category, completed, cursor, limit, includeTotal);
+        return "W/\"u" + userId + "-v" + version + "-" + Integer.toHexString(query) + "\"";
+    }
+
+    // Revalidated on every use and negotiated by Accept, so shared caches must key on it
+    private static ResponseEntity.BodyBuilder cacheableOk() {
+        return ResponseEntity.ok().cacheControl(LIST_CACHE_CONTROL).varyBy(HttpHeaders.ACCEPT);
+    }
+
+    // ---------------- TODO STATS ----------------
+    // Counts by completion, priority and category from the user's stat counters, so the
+    // cost does not grow with the number of todos. Revalidated with the same change
+    // version as the list.
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponseDTO> getStats(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                   WebRequest webRequest) {
+        long version = todoService.currentVersion(principal.getId());
+        if (webRequest.checkNotModified("W/\"u" + principal.getId() + "-v" + version + "-stats\"")) {
+            return null;
+        }
+        return cacheableOk()
+                .body(new ApiResponseDTO(200, "Todo stats fetched successfully", todoService.stats(principal.getId())));
+    }
+
+    // ---------------- CHANGES FEED ----------------
+    // Without "since" returns every todo plus a cursor; afterwards returns only todos
+    // created/updated and ids deleted after the cursor (see TodoSyncService). Cursors older
+    // than the tombstone retention get 410 and the client starts over without "since".
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponseDTO> getChanges(
+            @RequestParam(required = false) String since,
+            @AuthenticationPrincipal AuthenticatedUser principal
+    ) {
+        TodoChangesCursor cursor = null;
+        if (since != null && !since.isEmpty()) {
+            try {
+                cursor = TodoChangesCursor.decode(since);
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.badRequest().body(new ApiResponseDTO(400, ex.getMessage(), null));
+            }
+            if (todoSyncService.isExpired(cursor)) {
+                return ResponseEntity.status(HttpStatus.GONE)
+                        .body(new ApiResponseDTO(410, "Cursor expired, sync again without since", null));
+            }
+        }
+
+        return ResponseEntity.ok(new ApiResponseDTO(200, "Todo changes fetched successfully",
+                todoSyncService.changesSince(principal.getId(), cursor)));
+    }
+
+    // ---------------- STREAM CHANGES (SSE) ----------------
+    // Pushes created/updated/deleted/sync events of the caller's todos as they commit.
+    // The event id is the change version; after a reconnect, catch up with /changes.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTodos(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return todoStreamService.open(principal.getId());
+    }
+
+    // ---------------- SEARCH TODOS ----------------
+    // Full-text search over title and description of the caller's todos, ranked best
+    // match first and paged with page/size (see TodoSearchService).
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDTO> searchTodos(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_PAGE_SIZE) int size,
+            @AuthenticationPrincipal AuthenticatedUser principal
+    ) {
+        if (q == null || q.isBlank() || q.length() > MAX_SEARCH_QUERY_LENGTH) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponseDTO(400, "q must be 1 to " + MAX_SEARCH_QUERY_LENGTH + " characters", null));
+        }
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponseDTO(400, "page must be >= 0 and size between 1 and " + MAX_SEARCH_PAGE_SIZE, null));
+        }
+
+        TodoSearchPageDTO results = todoSearchService.search(principal.getId(), q, page, size);
+        return ResponseEntity.ok(new ApiResponseDTO(200, "Todos fetched successfully", results));
+    }
+
+    // ---------------- EXPORT TODOS ----------------
+    // Streams every todo of the user as NDJSON (default) or CSV without loading them into memory.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal AuthenticatedUser principal
+    ) {
+        Long userId = principal.getId();
+
+        if ("csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"todos.csv\"")
+                    .body(out -> todoExportService.exportCsv(userId, out));
+        }
+        if (!"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"todos.ndjson\"")
+                .body(out -> todoExportService.exportNdjson(userId, out));
     }
 
     // ---------------- CREATE TODO ----------------
     @PostMapping
-    public ResponseEntity<ApiResponseDTO> createTodo(@RequestBody TodoRequestDTO dto, Authentication authentication) {
-        String userEmail = authentication.getName();
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Todo todo = new Todo();
-        todo.setTitle(dto.getTitle());
-        todo.setDescription(dto.getDescription());
-        todo.setPriority(dto.getPriority());
-        todo.setCategory(dto.getCategory());
-        todo.setCompleted(dto.isCompleted());
-        todo.setUser(user);
-
-        Todo saved = todoRepository.save(todo);
+    public ResponseEntity<ApiResponseDTO> createTodo(@RequestBody TodoRequestDTO dto, @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (dto.getPriority() != null && !Priority.isValid(dto.getPriority())) {
+            return ResponseEntity.badRequest().body(new ApiResponseDTO(400, INVALID_PRIORITY, null));
+        }
+
+        // Reference only: the id comes from the token, no users query is issued
+        User user = userRepository.getReferenceById(principal.getId());
+
+        Todo saved = todoService.create(user, dto);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new ApiResponseDTO(201, "Todo created successfully", TodoResponseDTO.fromEntity(saved)));
     }
 
+    // ---------------- BATCH CREATE/UPDATE/DELETE ----------------
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponseDTO> batchTodos(@RequestBody TodoBatchRequestDTO dto, @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (dto == null || dto.getOperations() == null || dto.getOperations().isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponseDTO(400, "operations must not be empty", null));
+        }
+        if (dto.getOperations().size() > TodoService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponseDTO(400, "A batch may contain at most " + TodoService.MAX_BATCH_SIZE + " operations", null));
+        }
+
+        // Reference only: the id comes from the token, no users query is issued
+        User user = userRepository.getReferenceById(principal.getId());
+
+        List<TodoBatchResultDTO> results = todoService.applyBatch(user, dto.getOperations());
+        return ResponseEntity.ok(new ApiResponseDTO(200, "Batch processed", results));
+    }
+
     // ---------------- UPDATE TODO ----------------
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponseDTO> updateTodo(
             @PathVariable Long id,
             @RequestBody TodoRequestDTO dto,
-            Authentication authentication
+            @AuthenticationPrincipal AuthenticatedUser principal
     ) {
-        String userEmail = authentication.getName();
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
-
-        if (!todo.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized: You can only update your own todos");
+        if (dto.getPriority() != null && !Priority.isValid(dto.getPriority())) {
+            return ResponseEntity.badRequest().body(new ApiResponseDTO(400, INVALID_PRIORITY, null));
         }
 
-        if (dto.getTitle() != null) todo.setTitle(dto.getTitle());
-        if (dto.getDescription() != null) todo.setDescription(dto.getDescription());
-        if (dto.getPriority() != null) todo.setPriority(dto.getPriority());
-        if (dto.getCategory() != null) todo.setCategory(dto.getCategory());
-        todo.setCompleted(dto.isCompleted());
+        // Reference only: the id comes from the token, no users query is issued
+        User user = userRepository.getReferenceById(principal.getId());
 
-        Todo updated = todoRepository.save(todo);
+        Todo updated = todoService.update(user, id, dto);
         return ResponseEntity.ok(new ApiResponseDTO(200, "Todo updated successfully", TodoResponseDTO.fromEntity(updated)));
     }
 
-    // ---------------- DELETE TODO ----------------
-    @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponseDTO> deleteTodo(@PathVariable Long id, Authentication authentication) {
-        String userEmail = authentication.getName();
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
-
-        if (!todo.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized: You can only delete your own todos");
+    // ---------------- PATCH TODO ----------------
+    // One UPDATE scoped by id, owner and version: 404 when the todo is missing or not the
+    // caller's, 409 when "version" is not the current one (someone else saved first)
+    @PatchMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO> patchTodo(
+            @PathVariable Long id,
+            @RequestBody TodoPatchDTO dto,
+            @AuthenticationPrincipal AuthenticatedUser principal
+    ) {
+        if (dto == null || dto.getVersion() == null) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponseDTO(400, "version is required", null));
+        }
+        if (dto.getPriority() != null && !Priority.isValid(dto.getPriority())) {
+            return ResponseEntity.badRequest().body(new ApiResponseDTO(400, INVALID_PRIORITY, null));
         }
 
-        todoRepository.delete(todo);
+        TodoPatchResultDTO result = todoService.patch(principal.getId(), id, dto);
+        return ResponseEntity.ok(new ApiResponseDTO(200, "Todo updated successfully", result));
+    }
+
+    // ---------------- DELETE TODO ----------------
+    // Optional "version" makes the delete fail with 409 if the todo changed since it was read
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO> deleteTodo(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long version,
+            @AuthenticationPrincipal AuthenticatedUser principal
+    ) {
+        todoService.delete(principal.getId(), id, version);
         return ResponseEntity.ok(new ApiResponseDTO(200, "Todo deleted successfully", null));
     }
 }
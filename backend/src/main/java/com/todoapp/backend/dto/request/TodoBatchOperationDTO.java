@@ -0,0 +1,22 @@
+package com.todoapp.backend.dto.request;
+
+/**
+ * A single operation inside a batch request.
+ * {@code op} is one of "create", "update" or "delete"; {@code id} is required for
+ * update/delete and {@code todo} carries the fields for create/update.
+ */
+public class TodoBatchOperationDTO {
+    private String op;
+    private Long id;
+    private TodoRequestDTO todo;
+
+    // Getters and setters
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public TodoRequestDTO getTodo() { return todo; }
+    public void setTodo(TodoRequestDTO todo) { this.todo = todo; }
+}
@@ -0,0 +1,11 @@
+package com.todoapp.backend.dto.request;
+
+import java.util.List;
+
+public class TodoBatchRequestDTO {
+    private List<TodoBatchOperationDTO> operations;
+
+    // Getters and setters
+    public List<TodoBatchOperationDTO> getOperations() { return operations; }
+    public void setOperations(List<TodoBatchOperationDTO> operations) { this.operations = operations; }
+}
@@ -0,0 +1,38 @@
+package com.todoapp.backend.dto.request;
+
+/**
+ * Partial update of a todo (PATCH). Fields left null keep their value; {@code version} is
+ * the todo version the client last saw and is required.
+ */
+public class TodoPatchDTO {
+    private String title;
+    private String description;
+    private String priority;
+    private String category;
+    private Boolean completed;
+    private Long version;
+
+    // Getters and setters
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Boolean getCompleted() { return completed; }
+    public void setCompleted(Boolean completed) { this.completed = completed; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    // Completion, priority and category select the todo's stat counter
+    public boolean changesStatKey() {
+        return completed != null || priority != null || category != null;
+    }
+}
@@ -6,6 +6,8 @@ public class TodoRequestDTO {
     private String priority;
     private String category;
     private boolean completed;
+    // Optional on update: the todo version the client last saw
+    private Long version;
 
     // Getters and setters
     public String getTitle() { return title; }
@@ -22,4 +24,7 @@ public class TodoRequestDTO {
 
     public boolean isCompleted() { return completed; }
     public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
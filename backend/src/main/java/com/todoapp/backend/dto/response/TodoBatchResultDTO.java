@@ -0,0 +1,41 @@
+package com.todoapp.backend.dto.response;
+
+/**
+ * Outcome of one batch operation, in the same position as the request operation.
+ * {@code status} uses HTTP status codes (201, 200, 400, 404, 409).
+ */
+public class TodoBatchResultDTO {
+    private int index;
+    private String op;
+    private Long id;
+    private int status;
+    private String message;
+    private TodoResponseDTO todo;
+
+    public TodoBatchResultDTO(int index, String op, Long id, int status, String message, TodoResponseDTO todo) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+        this.todo = todo;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public TodoResponseDTO getTodo() { return todo; }
+    public void setTodo(TodoResponseDTO todo) { this.todo = todo; }
+}
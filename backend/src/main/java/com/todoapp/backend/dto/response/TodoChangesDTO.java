@@ -0,0 +1,34 @@
+package com.todoapp.backend.dto.response;
+
+import java.util.List;
+
+/**
+ * Todos created or updated and ids deleted since a changes cursor.
+ * Pass {@code nextCursor} to the next call; when {@code hasMore} is true, call again
+ * right away to get the rest.
+ */
+public class TodoChangesDTO {
+    private List<TodoResponseDTO> changed;
+    private List<Long> deleted;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public TodoChangesDTO(List<TodoResponseDTO> changed, List<Long> deleted, String nextCursor, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<TodoResponseDTO> getChanged() { return changed; }
+    public void setChanged(List<TodoResponseDTO> changed) { this.changed = changed; }
+
+    public List<Long> getDeleted() { return deleted; }
+    public void setDeleted(List<Long> deleted) { this.deleted = deleted; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
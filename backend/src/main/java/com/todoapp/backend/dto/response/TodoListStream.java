@@ -0,0 +1,43 @@
+package com.todoapp.backend.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * List body whose todos are written while the response is serialized, in place of a
+ * {@code List<TodoResponseDTO>}. Serializes as an array of objects with the same fields as
+ * {@link TodoResponseDTO}, in whichever format Jackson is writing (JSON, CBOR or Smile).
+ *
+ * <p>The rows are read when Jackson gets here, after the controller has returned and
+ * the headers are committed; a failure part way through ends the response early.</p>
+ */
+public final class TodoListStream implements JsonSerializable {
+
+    /** Writes one JSON object per todo to the generator. */
+    @FunctionalInterface
+    public interface RowWriter {
+        long writeRows(JsonGenerator json) throws IOException;
+    }
+
+    private final RowWriter rows;
+
+    public TodoListStream(RowWriter rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public void serialize(JsonGenerator json, SerializerProvider provider) throws IOException {
+        json.writeStartArray();
+        rows.writeRows(json);
+        json.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator json, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+        serialize(json, provider);
+    }
+}
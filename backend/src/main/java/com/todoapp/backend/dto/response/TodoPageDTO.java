@@ -0,0 +1,23 @@
+package com.todoapp.backend.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of todos for keyset pagination.
+ * {@code nextCursor} is {@code null} on the last page.
+ */
+public class TodoPageDTO {
+    private List<TodoResponseDTO> items;
+    private String nextCursor;
+
+    public TodoPageDTO(List<TodoResponseDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TodoResponseDTO> getItems() { return items; }
+    public void setItems(List<TodoResponseDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,28 @@
+package com.todoapp.backend.dto.response;
+
+import java.time.Instant;
+
+/**
+ * Result of a PATCH: the todo's new version (send it with the next write) and update time.
+ * The patched fields are the ones the client sent, so the row is not read back.
+ */
+public class TodoPatchResultDTO {
+    private Long id;
+    private long version;
+    private Instant updatedAt;
+
+    public TodoPatchResultDTO(Long id, long version, Instant updatedAt) {
+        this.id = id;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,7 +1,10 @@
 package com.todoapp.backend.dto.response;
 
+import com.todoapp.backend.model.Priority;
 import com.todoapp.backend.model.Todo;
 
+import java.time.Instant;
+
 public class TodoResponseDTO {
     private Long id;
     private String title;
@@ -9,15 +12,39 @@ public class TodoResponseDTO {
     private String priority;
     private String category;
     private boolean completed;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private long version;
+
+    public TodoResponseDTO() {
+    }
+
+    // Constructor expression target of TodoRepository#findListRows: filled straight from
+    // the selected columns, no Todo entity involved
+    public TodoResponseDTO(Long id, String title, String description, Priority priority, String category,
+                           boolean completed, Instant createdAt, Instant updatedAt, long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.priority = priority.name();
+        this.category = category;
+        this.completed = completed;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
 
     public static TodoResponseDTO fromEntity(Todo todo) {
         TodoResponseDTO dto = new TodoResponseDTO();
         dto.setId(todo.getId());
         dto.setTitle(todo.getTitle());
         dto.setDescription(todo.getDescription());
-        dto.setPriority(todo.getPriority());
-        dto.setCategory(todo.getCategory());
+        dto.setPriority(todo.getPriority().name());
+        dto.setCategory(todo.getCategoryName());
         dto.setCompleted(todo.isCompleted());
+        dto.setCreatedAt(todo.getCreatedAt());
+        dto.setUpdatedAt(todo.getUpdatedAt());
+        dto.setVersion(todo.getVersion());
         return dto;
     }
 
@@ -39,4 +66,13 @@ public class TodoResponseDTO {
 
     public boolean isCompleted() { return completed; }
     public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 }
@@ -0,0 +1,33 @@
+package com.todoapp.backend.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of search results, best match first.
+ * {@code hasMore} tells whether page {@code page + 1} has results.
+ */
+public class TodoSearchPageDTO {
+    private List<TodoResponseDTO> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    public TodoSearchPageDTO(List<TodoResponseDTO> items, int page, int size, boolean hasMore) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    public List<TodoResponseDTO> getItems() { return items; }
+    public void setItems(List<TodoResponseDTO> items) { this.items = items; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
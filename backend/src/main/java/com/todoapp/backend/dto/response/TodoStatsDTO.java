@@ -0,0 +1,44 @@
+package com.todoapp.backend.dto.response;
+
+import java.util.Map;
+
+/**
+ * Todo counts of one user, overall and broken down by priority and category.
+ * Todos without a category are counted in {@code uncategorized}, not in {@code byCategory}.
+ */
+public class TodoStatsDTO {
+    private long total;
+    private long completed;
+    private long pending;
+    private Map<String, Long> byPriority;
+    private Map<String, Long> byCategory;
+    private long uncategorized;
+
+    public TodoStatsDTO(long total, long completed, Map<String, Long> byPriority,
+                        Map<String, Long> byCategory, long uncategorized) {
+        this.total = total;
+        this.completed = completed;
+        this.pending = total - completed;
+        this.byPriority = byPriority;
+        this.byCategory = byCategory;
+        this.uncategorized = uncategorized;
+    }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getCompleted() { return completed; }
+    public void setCompleted(long completed) { this.completed = completed; }
+
+    public long getPending() { return pending; }
+    public void setPending(long pending) { this.pending = pending; }
+
+    public Map<String, Long> getByPriority() { return byPriority; }
+    public void setByPriority(Map<String, Long> byPriority) { this.byPriority = byPriority; }
+
+    public Map<String, Long> getByCategory() { return byCategory; }
+    public void setByCategory(Map<String, Long> byCategory) { this.byCategory = byCategory; }
+
+    public long getUncategorized() { return uncategorized; }
+    public void setUncategorized(long uncategorized) { this.uncategorized = uncategorized; }
+}
@@ -0,0 +1,51 @@
+package com.todoapp.backend.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node {@link TodoEventBus}: a map from user id to that user's listeners.
+ * Publishing touches only the affected user's listeners.
+ */
+@Component
+public class InMemoryTodoEventBus implements TodoEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTodoEventBus.class);
+
+    private final Map<Long, Set<TodoEventListener>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(TodoEvent event) {
+        Set<TodoEventListener> userListeners = listeners.get(event.userId());
+        if (userListeners == null) {
+            return;
+        }
+        for (TodoEventListener listener : userListeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException ex) {
+                // One broken listener must not keep the event from the others
+                logger.warn("Todo event listener failed for user ID {}", event.userId(), ex);
+            }
+        }
+    }
+
+    @Override
+    public Runnable subscribe(Long userId, TodoEventListener listener) {
+        // Added inside compute so a concurrent unsubscribe cannot drop the set in between
+        listeners.compute(userId, (id, set) -> {
+            set = set == null ? ConcurrentHashMap.newKeySet() : set;
+            set.add(listener);
+            return set;
+        });
+        return () -> listeners.computeIfPresent(userId, (id, set) -> {
+            set.remove(listener);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
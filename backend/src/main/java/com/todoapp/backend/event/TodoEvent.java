@@ -0,0 +1,25 @@
+package com.todoapp.backend.event;
+
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+
+/**
+ * A committed change to one user's todo list, as pushed to open streams.
+ *
+ * <p>{@code changeSeq} is the user's change version of the write (see the changes feed),
+ * so a client that missed events can catch up with {@code GET /api/todos/changes}. A batch
+ * is announced as a single {@link #SYNC} event instead of one event per todo.</p>
+ *
+ * @param type one of {@link #CREATED}, {@link #UPDATED}, {@link #DELETED}, {@link #SYNC}
+ * @param userId owner of the todo list
+ * @param todoId changed todo, null for {@link #SYNC}
+ * @param changeSeq change version of the write
+ * @param todo todo after the change, null for {@link #DELETED}, {@link #SYNC} and for an
+ *             {@link #UPDATED} from a PATCH (the row is not read back)
+ */
+public record TodoEvent(String type, Long userId, Long todoId, long changeSeq, TodoResponseDTO todo) {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String SYNC = "sync";
+}
@@ -0,0 +1,29 @@
+package com.todoapp.backend.event;
+
+/**
+ * Fan-out of committed todo changes to the listeners of the affected user.
+ *
+ * <p>The default {@link InMemoryTodoEventBus} only reaches listeners in this process. To
+ * run several nodes, add a {@code @Primary} {@code TodoEventBus} bean, e.g. one that sends
+ * {@link #publish(TodoEvent)} through Postgres {@code NOTIFY} and dispatches what it
+ * receives on {@code LISTEN} to local listeners (it can delegate that part to the
+ * in-memory bus).</p>
+ */
+public interface TodoEventBus {
+
+    /**
+     * Deliver an event to the listeners of {@code event.userId()}. Must not block.
+     *
+     * @param event committed change
+     */
+    void publish(TodoEvent event);
+
+    /**
+     * Register a listener for one user's events.
+     *
+     * @param userId user whose events to receive
+     * @param listener non-blocking listener
+     * @return handle that unregisters the listener when run (idempotent)
+     */
+    Runnable subscribe(Long userId, TodoEventListener listener);
+}
@@ -0,0 +1,11 @@
+package com.todoapp.backend.event;
+
+/**
+ * Receives the events of one user. Called on the publishing thread, so implementations
+ * must hand the event off (e.g. to a bounded buffer) and return without blocking.
+ */
+@FunctionalInterface
+public interface TodoEventListener {
+
+    void onEvent(TodoEvent event);
+}
@@ -0,0 +1,24 @@
+package com.todoapp.backend.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Hands todo events published inside a write transaction to the {@link TodoEventBus}
+ * once that transaction has committed. Rolled back writes publish nothing, and listeners
+ * never see a change before it is readable.
+ */
+@Component
+public class TodoEventRelay {
+
+    private final TodoEventBus todoEventBus;
+
+    public TodoEventRelay(TodoEventBus todoEventBus) {
+        this.todoEventBus = todoEventBus;
+    }
+
+    @TransactionalEventListener
+    public void afterCommit(TodoEvent event) {
+        todoEventBus.publish(event);
+    }
+}
@@ -1,8 +1,10 @@
 package com.todoapp.backend.exception;
 
 import com.todoapp.backend.dto.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -29,6 +31,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
 
+    // Handle a saturated password hashing pool: fail fast and tell the client when to retry
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiResponse<String>> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        ApiResponse<String> response = new ApiResponse<>(ex.getMessage(), null, HttpStatus.SERVICE_UNAVAILABLE.value());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    // Handle a todo that does not exist or is not the caller's
+    @ExceptionHandler(TodoNotFoundException.class)
+    public ResponseEntity<ApiResponse<String>> handleTodoNotFound(TodoNotFoundException ex) {
+        ApiResponse<String> response = new ApiResponse<>(ex.getMessage(), null, HttpStatus.NOT_FOUND.value());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    // Handle a write based on a stale todo version: either the version the client sent
+    // or, for entity updates, Hibernate's @Version check at flush
+    @ExceptionHandler({TodoVersionConflictException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ApiResponse<String>> handleVersionConflict(RuntimeException ex) {
+        String message = ex instanceof TodoVersionConflictException
+                ? ex.getMessage() : "Todo was modified concurrently; reload it and try again";
+        ApiResponse<String> response = new ApiResponse<>(message, null, HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     // Handle all other exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<String>> handleGenericException(Exception ex) {
@@ -0,0 +1,19 @@
+package com.todoapp.backend.exception;
+
+/**
+ * Thrown when the password hashing pool and its queue are full. Mapped to 503 with a
+ * Retry-After header so clients back off instead of piling up on request threads.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,12 @@
+package com.todoapp.backend.exception;
+
+/**
+ * Thrown when a todo does not exist or belongs to another user. Both cases map to 404, so
+ * callers cannot probe for other users' todo ids.
+ */
+public class TodoNotFoundException extends RuntimeException {
+
+    public TodoNotFoundException(Long id) {
+        super("Todo not found: " + id);
+    }
+}
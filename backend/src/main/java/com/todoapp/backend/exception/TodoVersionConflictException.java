@@ -0,0 +1,13 @@
+package com.todoapp.backend.exception;
+
+/**
+ * Thrown when a write names a todo version that is no longer current, i.e. the todo was
+ * changed elsewhere since the client read it. Mapped to 409; the client should re-read the
+ * todo and retry.
+ */
+public class TodoVersionConflictException extends RuntimeException {
+
+    public TodoVersionConflictException(Long id) {
+        super("Todo " + id + " was modified concurrently; reload it and try again");
+    }
+}
@@ -0,0 +1,42 @@
+package com.todoapp.backend.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async appender that never blocks the logging thread and counts what it throws away.
+ *
+ * <p>Events go into a bounded queue drained by one worker thread. When the queue is full
+ * the event is dropped (logback's {@code neverBlock}); when it is above the discarding
+ * threshold, TRACE/DEBUG/INFO events are dropped first. Both cases are counted in
+ * {@link #droppedEvents()}, which is published as {@code logging.events.dropped}. The
+ * full-queue check runs just before the offer, so under a race the count can be slightly
+ * low, never high.</p>
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    // Static so the metrics binder can read it without a handle on the logback context
+    private static final LongAdder DROPPED = new LongAdder();
+
+    public DroppingAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    /**
+     * @return events dropped by all instances since startup
+     */
+    public static long droppedEvents() {
+        return DROPPED.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if ((isQueueBelowDiscardingThreshold() && isDiscardable(event)) || getRemainingCapacity() == 0) {
+            DROPPED.increment();
+            return;
+        }
+        super.append(event);
+    }
+}
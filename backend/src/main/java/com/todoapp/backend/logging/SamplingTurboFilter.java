@@ -0,0 +1,75 @@
+package com.todoapp.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through one in {@code sampleRate} enabled events of the loggers under
+ * {@code loggerName}, e.g. {@code org.hibernate.SQL}, so statement logging can stay on in
+ * production without writing every statement.
+ *
+ * <p>Runs before the event is created; for levels the logger has disabled it does
+ * nothing, so the normal level check still short-circuits and costs no sampling. Sampling
+ * is decided at the {@code isDebugEnabled()}-style check when the caller makes one (as
+ * Hibernate does), so skipped statements are not even formatted; the log call that
+ * follows an admitted check is let through.</p>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final AtomicLong counter = new AtomicLong();
+    private final ThreadLocal<Boolean> admittedByCheck = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private String loggerName;
+    private int sampleRate = 100;
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void start() {
+        if (loggerName == null || loggerName.isEmpty()) {
+            addError("loggerName is required");
+            return;
+        }
+        if (sampleRate < 1) {
+            addError("sampleRate must be at least 1");
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || !logger.getName().startsWith(loggerName)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Level-gated: a disabled level is denied by the logger itself, don't count it
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (format == null) {
+            // isXxxEnabled() check: decide now and remember it for the log call that follows
+            boolean admitted = sample();
+            admittedByCheck.set(admitted);
+            return admitted ? FilterReply.NEUTRAL : FilterReply.DENY;
+        }
+        if (admittedByCheck.get()) {
+            admittedByCheck.set(Boolean.FALSE);
+            return FilterReply.NEUTRAL;
+        }
+        return sample() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean sample() {
+        return counter.getAndIncrement() % sampleRate == 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.todoapp.backend.model;
+
+import java.util.Locale;
+
+/**
+ * Todo priority, stored as a SMALLINT code (see {@link PriorityConverter}). Codes grow
+ * with urgency, so {@code ORDER BY priority DESC} puts the most urgent todos first. The
+ * API keeps using the names.
+ */
+public enum Priority {
+    LOW(1),
+    MEDIUM(2),
+    HIGH(3);
+
+    private final short code;
+
+    Priority(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no priority has this code
+     */
+    public static Priority fromCode(short code) {
+        for (Priority priority : values()) {
+            if (priority.code == code) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown priority code: " + code);
+    }
+
+    /**
+     * Parse a priority name, ignoring case.
+     *
+     * @throws IllegalArgumentException if the name is not LOW, MEDIUM or HIGH
+     */
+    public static Priority parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("priority must be one of LOW, MEDIUM, HIGH");
+        }
+    }
+
+    public static boolean isValid(String name) {
+        try {
+            parse(name);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.todoapp.backend.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stores Priority as its SMALLINT code rather than its ordinal, so reordering the enum
+// constants can never change the meaning of stored rows
+@Converter(autoApply = true)
+public class PriorityConverter implements AttributeConverter<Priority, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Priority priority) {
+        return priority == null ? null : priority.getCode();
+    }
+
+    @Override
+    public Priority convertToEntityAttribute(Short code) {
+        return code == null ? null : Priority.fromCode(code);
+    }
+}
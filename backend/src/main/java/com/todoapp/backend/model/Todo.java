@@ -2,28 +2,82 @@ package com.todoapp.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_user_completed_priority_created", columnList = "user_id, completed, priority, created_at"),
+        @Index(name = "idx_todos_user_created_id", columnList = "user_id, created_at DESC, id DESC"),
+        @Index(name = "idx_todos_user_change_seq_id", columnList = "user_id, change_seq, id"),
+        @Index(name = "idx_todos_user_category", columnList = "user_id, category_id")
+})
 public class Todo {
+    // Pooled sequence (V4 migration sets INCREMENT BY 50 to match allocationSize) so Hibernate
+    // can assign ids without an INSERT round trip and group inserts into JDBC batches.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_id_seq")
+    @SequenceGenerator(name = "todos_id_seq", sequenceName = "todos_id_seq", allocationSize = 50)
     private Long id;
 
     private String title;
     private String description;
     private boolean completed;
 
+    // SMALLINT code, see PriorityConverter
     @Column(nullable = false)
-    private String priority = "MEDIUM"; // LOW, MEDIUM, HIGH
+    @ColumnDefault("2")
+    private Priority priority = Priority.MEDIUM;
+
+    // Entry of the owner's category dictionary. Written through categoryId; the association
+    // is only read (list queries fetch it together with the todos).
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", insertable = false, updatable = false)
+    private TodoCategory category;
 
-    private String category;
+    @Column(name = "category_id")
+    private Long categoryId;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnore
     private User user;
 
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // User's change version at the last create/update, see TodoService#nextChangeSeq
+    @Column(name = "change_seq", nullable = false)
+    @ColumnDefault("0")
+    private long changeSeq;
+
+    // Optimistic lock: bumped on every update, so a write based on a stale copy fails
+    // instead of overwriting a concurrent edit
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
+    // Timestamps are truncated to microseconds, the precision of a Postgres TIMESTAMP,
+    // so the value held in memory (and handed out in pagination cursors) is exactly
+    // the value stored in the row.
+    @PrePersist
+    void onCreate() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        if (createdAt == null) createdAt = now;
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     // getters & setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -37,12 +91,31 @@ public class Todo {
     public boolean isCompleted() { return completed; }
     public void setCompleted(boolean completed) { this.completed = completed; }
 
-    public String getPriority() { return priority; }
-    public void setPriority(String priority) { this.priority = priority; }
+    public Priority getPriority() { return priority; }
+    public void setPriority(Priority priority) { this.priority = priority; }
+
+    public TodoCategory getCategory() { return category; }
+    public void setCategory(TodoCategory category) {
+        this.category = category;
+        this.categoryId = category == null ? null : category.getId();
+    }
+
+    public Long getCategoryId() { return categoryId; }
 
-    public String getCategory() { return category; }
-    public void setCategory(String category) { this.category = category; }
+    public String getCategoryName() { return category == null ? null : category.getName(); }
 
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(long changeSeq) { this.changeSeq = changeSeq; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 }
@@ -0,0 +1,42 @@
+package com.todoapp.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Entry of a user's category dictionary. Todos reference their category by id instead of
+ * repeating the name in every row; entries are created on first use and never change.
+ */
+@Entity
+@Immutable
+// Lazily loaded categories of a page of todos are fetched together, not one by one
+@BatchSize(size = 50)
+@Table(name = "todo_categories", uniqueConstraints =
+        @UniqueConstraint(name = "uk_todo_categories_user_name", columnNames = {"user_id", "name"}))
+public class TodoCategory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "category_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 64)
+    private String name;
+
+    public TodoCategory() {}
+
+    public TodoCategory(Long userId, String name) {
+        this.userId = userId;
+        this.name = name;
+    }
+
+    public Long getId() { return id; }
+
+    public Long getUserId() { return userId; }
+
+    public String getName() { return name; }
+}
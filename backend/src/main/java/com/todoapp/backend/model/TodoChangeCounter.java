@@ -0,0 +1,35 @@
+package com.todoapp.backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Per-user change counter for todos.
+ *
+ * <p>Incremented in the same transaction as every todo create/update/delete, so the value
+ * identifies a committed state of the user's todo list. Used for ETags on the list
+ * endpoint and to validate cached lists.</p>
+ */
+@Entity
+@Table(name = "todo_change_counters")
+public class TodoChangeCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    public TodoChangeCounter() {}
+
+    public TodoChangeCounter(Long userId, long version) {
+        this.userId = userId;
+        this.version = version;
+    }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -0,0 +1,104 @@
+package com.todoapp.backend.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+/**
+ * Number of todos a user has with one combination of completed, priority and category.
+ *
+ * <p>Adjusted in the same transaction as every todo create/update/delete, so the stats
+ * endpoint sums a handful of these rows instead of counting todos. A todo without a
+ * category is counted under {@link #NO_CATEGORY}.</p>
+ */
+@Entity
+@Table(name = "todo_stat_counters")
+@IdClass(TodoStatCounter.Key.class)
+public class TodoStatCounter implements Persistable<TodoStatCounter.Key> {
+
+    public static final String NO_CATEGORY = "";
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "completed")
+    private boolean completed;
+
+    @Id
+    @Column(name = "priority", length = 16)
+    private String priority;
+
+    @Id
+    @Column(name = "category", length = 64)
+    private String category;
+
+    @Column(name = "todo_count", nullable = false)
+    private long todoCount;
+
+    // Counters are only ever created after an update found no row, so save() can INSERT
+    // directly instead of merge() selecting the row first
+    @Transient
+    private boolean isNew;
+
+    public TodoStatCounter() {}
+
+    public TodoStatCounter(Key key, long todoCount) {
+        this.userId = key.userId();
+        this.completed = key.completed();
+        this.priority = key.priority();
+        this.category = key.category();
+        this.todoCount = todoCount;
+        this.isNew = true;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(userId, completed, priority, category);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        isNew = false;
+    }
+
+    public Long getUserId() { return userId; }
+    public boolean isCompleted() { return completed; }
+    public String getPriority() { return priority; }
+    public String getCategory() { return category; }
+
+    public long getTodoCount() { return todoCount; }
+    public void setTodoCount(long todoCount) { this.todoCount = todoCount; }
+
+    /**
+     * Primary key, also used to collect count deltas before they are written.
+     */
+    public record Key(Long userId, boolean completed, String priority, String category) implements Serializable {
+
+        /**
+         * @param todo Todo whose current field values select the counter
+         * @return key of the counter the todo is counted in
+         */
+        public static Key of(Todo todo) {
+            // getUser().getId() reads the proxy's identifier without initializing it
+            return of(todo.getUser().getId(), todo.isCompleted(), todo.getPriority(), todo.getCategoryName());
+        }
+
+        /**
+         * @return key of the counter a todo with these values is counted in; a null or
+         *         blank category counts as {@link #NO_CATEGORY}
+         */
+        public static Key of(Long userId, boolean completed, Priority priority, String category) {
+            return new Key(userId, completed, priority.name(),
+                    category == null || category.isBlank() ? NO_CATEGORY : category);
+        }
+    }
+}
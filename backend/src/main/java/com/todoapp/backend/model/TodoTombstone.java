@@ -0,0 +1,70 @@
+package com.todoapp.backend.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Record of a deleted todo, so the changes feed can tell clients which ids to drop.
+ *
+ * <p>Written in the same transaction as the delete, with the user's change version of
+ * that delete. Tombstones older than {@code app.changes.tombstone-retention} are purged;
+ * sync cursors older than that are rejected, so a client never misses a delete.</p>
+ */
+@Entity
+@Table(name = "todo_tombstones", indexes = {
+        @Index(name = "idx_todo_tombstones_user_change_seq", columnList = "user_id, change_seq"),
+        @Index(name = "idx_todo_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class TodoTombstone implements Persistable<Long> {
+
+    @Id
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    // Todo ids are never reused, so save() can INSERT without merge() selecting first
+    @Transient
+    private boolean isNew;
+
+    public TodoTombstone() {}
+
+    public TodoTombstone(Long todoId, Long userId, long changeSeq) {
+        this.todoId = todoId;
+        this.userId = userId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        this.isNew = true;
+    }
+
+    @Override
+    public Long getId() {
+        return todoId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        isNew = false;
+    }
+
+    public Long getTodoId() { return todoId; }
+    public Long getUserId() { return userId; }
+    public long getChangeSeq() { return changeSeq; }
+    public Instant getDeletedAt() { return deletedAt; }
+}
@@ -1,20 +1,40 @@
 package com.todoapp.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.time.Instant;
 
+/**
+ * Account; looked up by id and by email on most authenticated requests.
+ *
+ * <p>Held in the second-level cache (regions configured in hibernate-jcache.conf), with
+ * email as a cached natural id so {@code UserRepository.findByEmail} resolves without SQL.
+ * READ_WRITE keeps cached entries in step with updates committed through this instance.</p>
+ */
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 public class User {
 
+    public static final String CACHE_REGION = "users";
+    public static final String NATURAL_ID_CACHE_REGION = "users-by-email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_user_id_seq")
+    @SequenceGenerator(name = "users_user_id_seq", sequenceName = "users_user_id_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Long id;
 
     @Column(name = "username", nullable = false)
     private String name;
 
+    // Never changed once registered (an immutable natural id)
+    @NaturalId
     @Column(name = "email", unique = true, nullable = false)
     private String email;
 
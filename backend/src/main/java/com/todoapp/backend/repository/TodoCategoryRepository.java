@@ -0,0 +1,13 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.TodoCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TodoCategoryRepository extends JpaRepository<TodoCategory, Long> {
+
+    Optional<TodoCategory> findByUserIdAndName(Long userId, String name);
+}
@@ -0,0 +1,16 @@
+package com.todoapp.backend.repository;
+
+import java.util.OptionalLong;
+
+/**
+ * Change counter bump of {@link TodoChangeCounterRepository} that returns the new version
+ * from the UPDATE itself instead of a second SELECT.
+ */
+public interface TodoChangeCounterIncrement {
+
+    /**
+     * @param userId owner of the counter
+     * @return the incremented version, or empty if the user has no counter row yet
+     */
+    OptionalLong incrementAndGet(Long userId);
+}
@@ -0,0 +1,36 @@
+package com.todoapp.backend.repository;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * {@code UPDATE ... RETURNING} on Postgres; H2 (the test profile) reads the updated row
+ * through {@code FINAL TABLE} instead. Run as a native query, so pending entity changes
+ * are flushed first, as with a JPQL update.
+ */
+class TodoChangeCounterIncrementImpl implements TodoChangeCounterIncrement {
+
+    private static final String INCREMENT =
+            "UPDATE todo_change_counters SET version = version + 1 WHERE user_id = ?1";
+
+    private static final String POSTGRES_SQL = INCREMENT + " RETURNING version";
+
+    private static final String H2_SQL = "SELECT version FROM FINAL TABLE (" + INCREMENT + ")";
+
+    private final EntityManager entityManager;
+
+    TodoChangeCounterIncrementImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public OptionalLong incrementAndGet(Long userId) {
+        String sql = NativeDialect.isPostgres(entityManager) ? POSTGRES_SQL : H2_SQL;
+        List<?> rows = entityManager.createNativeQuery(sql)
+                .setParameter(1, userId)
+                .getResultList();
+        return rows.isEmpty() ? OptionalLong.empty() : OptionalLong.of(((Number) rows.get(0)).longValue());
+    }
+}
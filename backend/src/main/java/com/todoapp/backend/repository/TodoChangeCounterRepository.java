@@ -0,0 +1,16 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.TodoChangeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TodoChangeCounterRepository extends JpaRepository<TodoChangeCounter, Long>, TodoChangeCounterIncrement {
+
+    @Query("select c.version from TodoChangeCounter c where c.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Long userId);
+}
@@ -0,0 +1,63 @@
+package com.todoapp.backend.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque cursor of the todo changes feed.
+ *
+ * <p>The client is in sync with every change up to {@code (changeSeq, todoId)} in feed
+ * order (change version, then todo id); the next call returns everything after it.
+ * {@code todoId} is null when all changes of {@code changeSeq} are included, and set when a
+ * page had to stop inside one version (legacy rows all share version 0, and a batch stamps
+ * many todos with the same one). {@code issuedAt} lets the server reject cursors older than
+ * the tombstone retention. Serialized as URL-safe Base64 like {@link TodoCursor}.</p>
+ */
+public record TodoChangesCursor(long changeSeq, Long todoId, Instant issuedAt) {
+
+    /**
+     * Cursor after every change up to and including {@code changeSeq}.
+     */
+    public TodoChangesCursor(long changeSeq, Instant issuedAt) {
+        this(changeSeq, null, issuedAt);
+    }
+
+    /**
+     * The last version whose changes, deletes included, the client has in full.
+     */
+    public long completeSeq() {
+        return todoId == null ? changeSeq : changeSeq - 1;
+    }
+
+    public String encode() {
+        String raw = todoId == null
+                ? changeSeq + ":" + issuedAt.toEpochMilli()
+                : changeSeq + ":" + todoId + ":" + issuedAt.toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a cursor previously produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static TodoChangesCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 2 && parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            long changeSeq = Long.parseLong(parts[0]);
+            Long todoId = parts.length == 3 ? Long.parseLong(parts[1]) : null;
+            if (changeSeq < 0 || (todoId != null && todoId < 0)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Instant issuedAt = Instant.ofEpochMilli(Long.parseLong(parts[parts.length - 1]));
+            return new TodoChangesCursor(changeSeq, todoId, issuedAt);
+        } catch (IllegalArgumentException | java.time.DateTimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.Todo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over the todo list order ({@code created_at DESC, id DESC}).
+ *
+ * <p>The cursor points at the last row of a page; the next page starts strictly after
+ * it. It is serialized as URL-safe Base64 so clients treat it as an opaque token.</p>
+ */
+public record TodoCursor(Instant createdAt, long id) {
+
+    public static TodoCursor of(Todo todo) {
+        return new TodoCursor(todo.getCreatedAt(), todo.getId());
+    }
+
+    /**
+     * Whether a row comes strictly after this cursor in {@code created_at DESC, id DESC}
+     * order; the in-memory equivalent of {@link TodoSpecifications#after(TodoCursor)}.
+     */
+    public boolean isFollowedBy(Instant rowCreatedAt, long rowId) {
+        int cmp = rowCreatedAt.compareTo(createdAt);
+        return cmp < 0 || (cmp == 0 && rowId < id);
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a cursor previously produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static TodoCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new TodoCursor(createdAt, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | java.time.DateTimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.todoapp.backend.repository;
+
+import java.util.Optional;
+
+/**
+ * Owner-scoped delete of {@link TodoRepository} that returns the deleted row's stat
+ * counter columns, so the todo is neither loaded nor read before it is deleted.
+ */
+public interface TodoOwnedDelete {
+
+    /**
+     * @param id todo to delete
+     * @param userId caller, must own the todo
+     * @param version version the client last saw, or null to delete whatever is current
+     * @return the deleted todo's version and stat key, or empty if nothing was deleted
+     *         (not found, not owned or stale)
+     */
+    Optional<TodoStatKeyView> deleteOwned(Long id, Long userId, Long version);
+}
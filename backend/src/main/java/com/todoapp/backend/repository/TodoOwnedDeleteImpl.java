@@ -0,0 +1,52 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.Priority;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@code DELETE ... RETURNING} in a CTE on Postgres; H2 (the test profile) reads the
+ * deleted row through {@code OLD TABLE} instead. Either way one statement deletes the todo
+ * and joins its category name.
+ */
+class TodoOwnedDeleteImpl implements TodoOwnedDelete {
+
+    private static final String DELETE = "DELETE FROM todos WHERE id = ?1 AND user_id = ?2";
+
+    private static final String VERSION_MATCHES = " AND version = ?3";
+
+    private static final String STAT_KEY_COLUMNS = "SELECT d.version, d.completed, d.priority, c.name";
+
+    private static final String CATEGORY_JOIN = " LEFT JOIN todo_categories c ON c.category_id = d.category_id";
+
+    private final EntityManager entityManager;
+
+    TodoOwnedDeleteImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<TodoStatKeyView> deleteOwned(Long id, Long userId, Long version) {
+        String delete = version == null ? DELETE : DELETE + VERSION_MATCHES;
+        String sql = NativeDialect.isPostgres(entityManager)
+                ? "WITH d AS (" + delete + " RETURNING version, completed, priority, category_id) " +
+                        STAT_KEY_COLUMNS + " FROM d" + CATEGORY_JOIN
+                : STAT_KEY_COLUMNS + " FROM OLD TABLE (" + delete + ") d" + CATEGORY_JOIN;
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter(1, id)
+                .setParameter(2, userId);
+        if (version != null) {
+            query.setParameter(3, version);
+        }
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = (Object[]) rows.get(0);
+        return Optional.of(new TodoStatKeyView(((Number) row[0]).longValue(), (Boolean) row[1],
+                Priority.fromCode(((Number) row[2]).shortValue()), (String) row[3]));
+    }
+}
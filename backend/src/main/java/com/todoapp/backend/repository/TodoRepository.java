@@ -1,7 +1,61 @@
 package com.todoapp.backend.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.model.Priority;
 import com.todoapp.backend.model.Todo;
 
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface TodoRepository extends JpaRepository<Todo, Long>, JpaSpecificationExecutor<Todo>, TodoOwnedDelete {
+
+    // A user's list newest first (TodoSpecifications.KEYSET_ORDER), selected straight into
+    // DTOs: no entities, snapshots or user proxies end up in the persistence context
+    @Query("select new com.todoapp.backend.dto.response.TodoResponseDTO(t.id, t.title, t.description, " +
+            "t.priority, c.name, t.completed, t.createdAt, t.updatedAt, t.version) " +
+            "from Todo t left join t.category c where t.user.id = :userId " +
+            "order by t.createdAt desc, t.id desc")
+    List<TodoResponseDTO> findListRows(@Param("userId") Long userId, Limit limit);
+
+    // Changes feed: todos after (afterSeq, afterId) in (change_seq, id) order, up to version upTo
+    @Query("select t from Todo t left join fetch t.category " +
+            "where t.user.id = :userId and t.changeSeq <= :upTo " +
+            "and (t.changeSeq > :afterSeq or (t.changeSeq = :afterSeq and t.id > :afterId)) " +
+            "order by t.changeSeq, t.id")
+    List<Todo> findChanged(@Param("userId") Long userId, @Param("afterSeq") long afterSeq,
+                           @Param("afterId") long afterId, @Param("upTo") long upTo, Limit limit);
+
+    // Owner-scoped single-todo writes: the ownership check is part of the WHERE clause, so
+    // neither the todo nor its user is loaded. A row count of 0 means not found, not owned
+    // or (when a version is given) stale.
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("select new com.todoapp.backend.repository.TodoStatKeyView(t.version, t.completed, t.priority, c.name) " +
+            "from Todo t left join t.category c where t.id = :id and t.user.id = :userId")
+    Optional<TodoStatKeyView> findStatKey(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Null fields keep their value; the category is replaced (possibly by none) only when
+    // setCategory is true
+    @Modifying
+    @Query("update Todo t set t.title = coalesce(:title, t.title), " +
+            "t.description = coalesce(:description, t.description), " +
+            "t.priority = coalesce(:priority, t.priority), " +
+            "t.categoryId = case when :setCategory = true then :categoryId else t.categoryId end, " +
+            "t.completed = coalesce(:completed, t.completed), " +
+            "t.changeSeq = :changeSeq, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "where t.id = :id and t.user.id = :userId and t.version = :version")
+    int patch(@Param("id") Long id, @Param("userId") Long userId, @Param("version") long version,
+              @Param("title") String title, @Param("description") String description,
+              @Param("priority") Priority priority,
+              @Param("setCategory") boolean setCategory, @Param("categoryId") Long categoryId,
+              @Param("completed") Boolean completed,
+              @Param("changeSeq") long changeSeq, @Param("updatedAt") Instant updatedAt);
 }
@@ -0,0 +1,104 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.Priority;
+import com.todoapp.backend.model.Todo;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+
+/**
+ * Query building blocks for {@link TodoRepository}.
+ *
+ * <p>Every list query starts from {@link #ownedBy(Long)} so the database only ever
+ * scans the caller's rows (via the {@code user_id} indexes); the optional filters are
+ * appended as additional predicates of the same statement instead of being applied
+ * in memory.</p>
+ */
+public final class TodoSpecifications {
+
+    /**
+     * Stable list order, newest first. The {@code id} tie-breaker makes the order total
+     * so keyset pages never skip or repeat rows created in the same microsecond.
+     */
+    public static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private TodoSpecifications() {
+    }
+
+    /**
+     * Todos that belong to the given user. Compares the foreign key column directly,
+     * so the lazy {@code user} association is never joined or initialized.
+     */
+    public static Specification<Todo> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Todo> hasPriority(Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    // Joins the owner's category dictionary; (user_id, name) is unique there, so the match
+    // turns into a category_id lookup on the (user_id, category_id) index
+    public static Specification<Todo> hasCategory(String category) {
+        return (root, query, cb) -> cb.equal(root.join("category").get("name"), category);
+    }
+
+    /**
+     * Fetches each todo's category in the same statement, so mapping a list to DTOs does not
+     * load categories separately. Left out of count queries, which have no rows to fetch into.
+     */
+    public static Specification<Todo> fetchCategory() {
+        return (root, query, cb) -> {
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                root.fetch("category", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Todo> isCompleted(boolean completed) {
+        return (root, query, cb) -> cb.equal(root.get("completed"), completed);
+    }
+
+    /**
+     * Rows strictly after the cursor in {@link #KEYSET_ORDER}. Served by the
+     * {@code (user_id, created_at DESC, id DESC)} index, so a page costs the same
+     * regardless of how deep into the list it is.
+     */
+    public static Specification<Todo> after(TodoCursor cursor) {
+        return (root, query, cb) -> {
+            Instant createdAt = cursor.createdAt();
+            return cb.or(
+                    cb.lessThan(root.get("createdAt"), createdAt),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), createdAt),
+                            cb.lessThan(root.get("id"), cursor.id())));
+        };
+    }
+
+    /**
+     * Build the list query for a user from the optional request filters.
+     * Blank or {@code null} filters are left out of the WHERE clause entirely.
+     *
+     * @param userId owner of the todos (always applied)
+     * @param priority optional priority filter
+     * @param category optional category filter
+     * @param completed optional completion filter
+     * @return combined specification, fetching the categories
+     */
+    public static Specification<Todo> forUser(Long userId, Priority priority, String category, Boolean completed) {
+        Specification<Todo> spec = ownedBy(userId).and(fetchCategory());
+        if (priority != null) {
+            spec = spec.and(hasPriority(priority));
+        }
+        if (category != null && !category.isEmpty()) {
+            spec = spec.and(hasCategory(category));
+        }
+        if (completed != null) {
+            spec = spec.and(isCompleted(completed));
+        }
+        return spec;
+    }
+}
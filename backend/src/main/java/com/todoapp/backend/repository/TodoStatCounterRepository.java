@@ -0,0 +1,24 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.TodoStatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TodoStatCounterRepository extends JpaRepository<TodoStatCounter, TodoStatCounter.Key> {
+
+    @Modifying
+    @Query("update TodoStatCounter c set c.todoCount = c.todoCount + :delta " +
+            "where c.userId = :userId and c.completed = :completed and c.priority = :priority and c.category = :category")
+    int add(@Param("userId") Long userId, @Param("completed") boolean completed,
+            @Param("priority") String priority, @Param("category") String category,
+            @Param("delta") long delta);
+
+    @Query("select c from TodoStatCounter c where c.userId = :userId and c.todoCount > 0")
+    List<TodoStatCounter> findNonEmpty(@Param("userId") Long userId);
+}
@@ -0,0 +1,15 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.Priority;
+import com.todoapp.backend.model.TodoStatCounter;
+
+/**
+ * The columns of a todo that select its stat counter, plus its version. Read by the
+ * owner-scoped writes in {@code TodoService} instead of loading the whole entity.
+ */
+public record TodoStatKeyView(long version, boolean completed, Priority priority, String category) {
+
+    public TodoStatCounter.Key key(Long userId) {
+        return TodoStatCounter.Key.of(userId, completed, priority, category);
+    }
+}
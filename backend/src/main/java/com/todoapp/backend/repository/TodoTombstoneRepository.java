@@ -0,0 +1,23 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.TodoTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+
+    @Query("select t.todoId from TodoTombstone t " +
+            "where t.userId = :userId and t.changeSeq > :after and t.changeSeq <= :upTo order by t.changeSeq, t.todoId")
+    List<Long> findDeletedIds(@Param("userId") Long userId, @Param("after") long after, @Param("upTo") long upTo);
+
+    @Modifying
+    @Query("delete from TodoTombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
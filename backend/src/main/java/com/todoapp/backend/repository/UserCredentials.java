@@ -0,0 +1,9 @@
+package com.todoapp.backend.repository;
+
+/**
+ * The columns a credential check needs, read by a scalar query: Hibernate only resolves
+ * entity results (not scalars) through the second-level cache, so these always come from
+ * the database.
+ */
+public record UserCredentials(Long id, String email, String password) {
+}
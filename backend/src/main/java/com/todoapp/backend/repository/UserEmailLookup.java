@@ -0,0 +1,14 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.User;
+
+import java.util.Optional;
+
+/**
+ * Email lookup of {@link UserRepository} through the email natural id, so it is answered
+ * from the second-level cache when the user is in it.
+ */
+public interface UserEmailLookup {
+
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,27 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * Resolves email to id with Hibernate's natural id API, which checks the persistence
+ * context and the natural id cache before querying. A derived query would always run SQL.
+ */
+class UserEmailLookupImpl implements UserEmailLookup {
+
+    private final EntityManager entityManager;
+
+    UserEmailLookupImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
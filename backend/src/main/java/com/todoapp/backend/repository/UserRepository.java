@@ -2,12 +2,21 @@ package com.todoapp.backend.repository;
 
 import com.todoapp.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserEmailLookup {
+
+    // Credential checks read the database, not the second-level cache: the cache is per
+    // instance, and a password changed through another instance must apply at once. A query
+    // for the User entity would still take a cached instance, so only columns are selected
+    @Query("select new com.todoapp.backend.repository.UserCredentials(u.id, u.email, u.password) " +
+            "from User u where u.email = :email")
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
     boolean existsByEmail(String email);
 }
@@ -0,0 +1,81 @@
+package com.todoapp.backend.security;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lightweight security principal carrying the user's ID, email and roles.
+ *
+ * <p>Produced in two places:</p>
+ * <ul>
+ *   <li>{@code UserService.loadUserByUsername} during login (with the password hash, which
+ *       Spring Security erases after authentication)</li>
+ *   <li>{@link JwtAuthenticationFilter} from the verified JWT claims, without touching the
+ *       database (password is {@code null})</li>
+ * </ul>
+ *
+ * <p>Controllers obtain it with {@code @AuthenticationPrincipal} and use {@link #getId()}
+ * instead of looking the user up by email on every request.</p>
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String email;
+    private String password;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    /**
+     * Build a principal from verified token claims.
+     *
+     * @param id User ID ({@code uid} claim)
+     * @param email Token subject
+     * @param roles Role names ({@code roles} claim)
+     * @return principal without credentials
+     */
+    public static AuthenticatedUser fromClaims(Long id, String email, Collection<String> roles) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new AuthenticatedUser(id, email, null, authorities);
+    }
+
+    public Long getId() { return id; }
+
+    public String getEmail() { return email; }
+
+    /**
+     * Role names for embedding into a token.
+     */
+    public List<String> getRoles() {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public String getUsername() { return email; }
+
+    @Override
+    public void eraseCredentials() { this.password = null; }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", email=" + email + ", authorities=" + authorities + "]";
+    }
+}
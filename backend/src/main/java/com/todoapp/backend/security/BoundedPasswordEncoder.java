@@ -0,0 +1,157 @@
+package com.todoapp.backend.security;
+
+import com.todoapp.backend.exception.PasswordHashingBusyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link PasswordEncoder} that runs the (deliberately slow) delegate on a dedicated,
+ * bounded thread pool.
+ *
+ * <p>BCrypt costs tens of milliseconds of CPU per call. Running it on request threads
+ * lets a burst of logins or registrations take every core and starve todo requests.
+ * Here at most {@code threads} hashes run at once and at most {@code queueCapacity}
+ * wait; anything beyond that fails immediately with {@link PasswordHashingBusyException}
+ * (503 + Retry-After) instead of queueing without limit. The calling thread still waits
+ * for its own result, but waiting costs no CPU.</p>
+ *
+ * <p>Queue depth, rejections and hash time are exposed through getters for metrics.</p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashTimeNanos = new LongAdder();
+    private final AtomicLong maxHashTimeNanos = new AtomicLong();
+
+    /**
+     * @param delegate Encoder doing the actual hashing
+     * @param threads Worker threads, normally the number of cores
+     * @param queueCapacity Calls allowed to wait for a worker before rejecting
+     * @param retryAfterSeconds Value of the Retry-After hint on rejection
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long retryAfterSeconds) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("threads and queueCapacity must be at least 1");
+        }
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, no need to offload
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stop the workers; called on context shutdown.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /** Calls waiting for a worker. */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /** Hashes currently running. */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /** Calls rejected because the queue was full. */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /** Completed hash/match calls. */
+    public long getHashCount() {
+        return hashCount.sum();
+    }
+
+    /** Total time spent hashing (excluding queue wait). */
+    public long getTotalHashTimeNanos() {
+        return hashTimeNanos.sum();
+    }
+
+    /** Slowest single hash since startup. */
+    public long getMaxHashTimeNanos() {
+        return maxHashTimeNanos.get();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(task));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many concurrent sign-ins, please retry shortly", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private <T> T timed(Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            hashCount.increment();
+            hashTimeNanos.add(elapsed);
+            maxHashTimeNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.todoapp.backend.security;
 import com.todoapp.backend.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +18,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT Authentication Filter that intercepts HTTP requests and validates JWT tokens.
@@ -27,7 +33,8 @@ import java.io.IOException;
  * <ul>
  *   <li>Extracts JWT token from Authorization header</li>
  *   <li>Validates token signature and expiration</li>
- *   <li>Loads user details from database</li>
+ *   <li>Builds the principal from the token's uid/roles claims (database lookup only
+ *       for older tokens without those claims)</li>
  *   <li>Sets authentication in SecurityContext</li>
  * </ul>
  */
@@ -41,10 +48,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserService userService;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userService = userService;
+        this.validTokenTimer = validationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = validationTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("jwt.validation")
+                .description("Time to verify a bearer token and read its claims")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
     @Override
@@ -60,25 +78,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (header != null && header.startsWith(BEARER_PREFIX)) {
                 String token = header.substring(BEARER_PREFIX_LENGTH);
 
-                // Validate the token signature and expiration
-                if (jwtUtil.validateToken(token)) {
-                    String username = jwtUtil.getSubject(token);
+                // Verify signature and expiration and read the claims in one parse
+                long start = System.nanoTime();
+                Claims claims = jwtUtil.getClaims(token);
+                (claims == null ? invalidTokenTimer : validTokenTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                String username = claims == null ? null : claims.getSubject();
 
-                    // Only authenticate if no user is currently set in the context
-                    if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                        UserDetails userDetails = userService.loadUserByUsername(username);
+                // Only authenticate if no user is currently set in the context
+                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    UserDetails userDetails = principalFromClaims(claims);
+                    if (userDetails == null) {
+                        // Token issued before uid/roles claims existed: fall back to the database
+                        userDetails = userService.loadUserByUsername(username);
+                    }
 
-                        UsernamePasswordAuthenticationToken auth =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails, 
-                                        null, 
-                                        userDetails.getAuthorities()
-                                );
-                        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    UsernamePasswordAuthenticationToken auth =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails, 
+                                    null, 
+                                    userDetails.getAuthorities()
+                            );
+                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                        // Set authenticated user in the SecurityContext
-                        SecurityContextHolder.getContext().setAuthentication(auth);
-                    }
+                    // Set authenticated user in the SecurityContext
+                    SecurityContextHolder.getContext().setAuthentication(auth);
                 }
             }
         } catch (Exception ex) {
@@ -90,6 +113,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Rebuild the principal from the {@code uid} and {@code roles} claims.
+     * 
+     * @param claims Verified token claims
+     * @return principal, or null if the token does not carry the required claims
+     */
+    private AuthenticatedUser principalFromClaims(Claims claims) {
+        Object uid = claims.get(JwtUtil.CLAIM_USER_ID);
+        Object roles = claims.get(JwtUtil.CLAIM_ROLES);
+        if (!(uid instanceof Number) || !(roles instanceof Collection<?> roleList)) {
+            return null;
+        }
+        List<String> roleNames = roleList.stream().map(String::valueOf).toList();
+        return AuthenticatedUser.fromClaims(((Number) uid).longValue(), claims.getSubject(), roleNames);
+    }
+
     /**
      * Determine if this filter should be applied to the given request.
      * Override this method to exclude certain paths from JWT authentication.
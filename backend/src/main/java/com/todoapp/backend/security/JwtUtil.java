@@ -2,12 +2,14 @@ package com.todoapp.backend.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -15,28 +17,50 @@ import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Single clean JwtUtil implementation.
+ *
+ * <p>The parser is built once at startup and {@link #getClaims(String)} verifies the
+ * signature and expiration and returns the claims in a single pass; all other accessors
+ * go through it. Optionally ({@code jwt.cache.enabled}) verified tokens are kept in a
+ * bounded {@link VerifiedTokenCache} until they expire, so repeated requests with the same
+ * token skip the HMAC check entirely.</p>
  */
 @Component
 public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
+    /** Claim holding the numeric user ID, so requests can be authorized without a DB lookup. */
+    public static final String CLAIM_USER_ID = "uid";
+    /** Claim holding the user's role names. */
+    public static final String CLAIM_ROLES = "roles";
+
     private final String jwtSecret;
     private final long jwtExpirationMs;
     private final boolean failFastOnInit;
+    private final VerifiedTokenCache tokenCache;
 
     private Key signingKey;
+    private JwtParser parser;
+
+    public JwtUtil(String jwtSecret, long jwtExpirationMs, boolean failFastOnInit) {
+        this(jwtSecret, jwtExpirationMs, failFastOnInit, false, 0);
+    }
 
+    @Autowired
     public JwtUtil(@Value("${jwt.secret:defaultTestSecret_defaultTestSecret}") String jwtSecret,
                    @Value("${jwt.expiration:3600000}") long jwtExpirationMs,
-                   @Value("${jwt.fail-fast:false}") boolean failFastOnInit) {
+                   @Value("${jwt.fail-fast:false}") boolean failFastOnInit,
+                   @Value("${jwt.cache.enabled:false}") boolean cacheEnabled,
+                   @Value("${jwt.cache.max-entries:10000}") long cacheMaxEntries) {
         this.jwtSecret = jwtSecret == null ? "" : jwtSecret;
         this.jwtExpirationMs = jwtExpirationMs <= 0 ? 3600000L : jwtExpirationMs;
         this.failFastOnInit = failFastOnInit;
+        this.tokenCache = cacheEnabled && cacheMaxEntries > 0 ? new VerifiedTokenCache(cacheMaxEntries) : null;
     }
 
     @PostConstruct
@@ -70,6 +94,11 @@ public class JwtUtil {
             }
             signingKey = Keys.hmacShaKeyFor("defaultTestSecret_defaultTestSecret_defaultTest".getBytes(StandardCharsets.UTF_8));
         }
+
+        // The parser is immutable and thread-safe; build it once instead of per call
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateToken(String subject) {
@@ -97,22 +126,53 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Issue a token for an authenticated user, embedding the user ID and roles so that
+     * {@link JwtAuthenticationFilter} can rebuild the principal from the token alone.
+     */
+    public String generateToken(AuthenticatedUser user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLES, user.getRoles());
+        return generateTokenWithClaims(user.getEmail(), claims);
+    }
+
     public String getSubject(String token) {
         Claims claims = getClaims(token);
         return claims == null ? null : claims.getSubject();
     }
 
+    /**
+     * Verify the token's signature and expiration and return its claims, in a single parse.
+     * Served from the verified-token cache when it is enabled and already holds the token.
+     *
+     * @param token compact JWT
+     * @return the claims, or null if the token is missing, malformed, tampered with or expired
+     */
     public Claims getClaims(String token) {
+        if (token == null || token.trim().isEmpty()) return null;
+
+        if (tokenCache != null) {
+            Claims cached = tokenCache.get(token);
+            if (cached != null) return cached;
+        }
+
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (tokenCache != null) tokenCache.put(token, claims);
+            return claims;
+        } catch (MalformedJwtException ex) {
+            logger.debug("Invalid JWT token: {}", ex.getMessage());
+        } catch (ExpiredJwtException ex) {
+            logger.debug("JWT token is expired: {}", ex.getMessage());
+        } catch (UnsupportedJwtException ex) {
+            logger.debug("JWT token is unsupported: {}", ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            logger.debug("JWT claims string is empty: {}", ex.getMessage());
         } catch (Exception ex) {
             logger.debug("Failed to parse JWT claims: {}", ex.getMessage());
-            return null;
         }
+        return null;
     }
 
     public Object getClaim(String token, String claimName) {
@@ -136,35 +196,12 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token) {
-        if (token == null || token.trim().isEmpty()) return false;
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (MalformedJwtException ex) {
-            logger.debug("Invalid JWT token: {}", ex.getMessage());
-        } catch (ExpiredJwtException ex) {
-            logger.debug("JWT token is expired: {}", ex.getMessage());
-        } catch (UnsupportedJwtException ex) {
-            logger.debug("JWT token is unsupported: {}", ex.getMessage());
-        } catch (IllegalArgumentException ex) {
-            logger.debug("JWT claims string is empty: {}", ex.getMessage());
-        } catch (Exception ex) {
-            logger.debug("Unexpected error validating JWT: {}", ex.getMessage());
-        }
-        return false;
+        return getClaims(token) != null;
     }
 
     public boolean validateTokenForSubject(String token, String subject) {
-        try {
-            String tokenSubject = getSubject(token);
-            return validateToken(token) && tokenSubject != null && tokenSubject.equals(subject);
-        } catch (Exception ex) {
-            logger.debug("Error validating token for subject: {}", ex.getMessage());
-            return false;
-        }
+        String tokenSubject = getSubject(token);
+        return tokenSubject != null && tokenSubject.equals(subject);
     }
 
     public long getRemainingTime(String token) {
@@ -0,0 +1,94 @@
+package com.todoapp.backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-caller request budget for the API, applied right after {@link JwtAuthenticationFilter}.
+ *
+ * <p>Two route groups with separate budgets:</p>
+ * <ul>
+ *   <li>{@code /api/auth/**} - keyed by client IP; these run BCrypt, so the budget is small</li>
+ *   <li>other {@code /api/**} - keyed by the authenticated user id (client IP when the
+ *       request carries no valid token; it gets a 401 anyway)</li>
+ * </ul>
+ *
+ * <p>A request over budget gets 429 with {@code Retry-After} (whole seconds, at least 1)
+ * and never reaches the controller. Everything outside {@code /api/} is not limited.</p>
+ *
+ * <p>Not a Spring bean on purpose: Boot would also register it as a plain servlet filter
+ * running ahead of the security chain, before the user is known.</p>
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PREFIX = "/api/auth/";
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"message\":\"Too many requests\",\"data\":null,\"status\":429}".getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiter authLimiter;
+    private final RateLimiter apiLimiter;
+
+    /**
+     * @param authLimiter Budget per client IP for /api/auth/**
+     * @param apiLimiter Budget per user for the rest of /api/**
+     */
+    public RateLimitFilter(RateLimiter authLimiter, RateLimiter apiLimiter) {
+        this.authLimiter = authLimiter;
+        this.apiLimiter = apiLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long waitNanos = request.getRequestURI().startsWith(AUTH_PREFIX)
+                ? authLimiter.tryAcquire("ip:" + request.getRemoteAddr())
+                : apiLimiter.tryAcquire(callerKey(request));
+
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+            response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String callerKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user && user.getId() != null) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Only /api/** is limited; CORS preflights are answered without counting against the budget.
+     *
+     * @param request HTTP request
+     * @return true if filter should NOT be applied
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+}
@@ -0,0 +1,109 @@
+package com.todoapp.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket per key (user id or client IP).
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time at which it will be full
+ * again (the "theoretical arrival time" form of a token bucket). Taking a token moves that
+ * time forward by one refill interval with a CAS; a request is allowed while the bucket
+ * would still hold at least one token, i.e. while the full time lies less than
+ * {@code capacity} intervals ahead. Rejections only read the word, so a client hammering a
+ * bucket it has already drained adds no write contention.</p>
+ *
+ * <p>Buckets live in a bounded Caffeine map (concurrent hash table with striped read
+ * buffers), keyed by the caller. A bucket untouched for {@code idleTimeout} is full again
+ * and is evicted; {@code maxKeys} caps memory if many distinct keys show up at once.
+ * The idle timeout is never shorter than the time to refill an empty bucket, so eviction
+ * cannot hand out tokens early.</p>
+ */
+public class RateLimiter {
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param capacity Requests allowed in a burst
+     * @param refillPerSecond Tokens added per second once the burst is used
+     * @param idleTimeout Buckets unused for this long are dropped
+     * @param maxKeys Upper bound on buckets held at once
+     */
+    public RateLimiter(long capacity, double refillPerSecond, Duration idleTimeout, long maxKeys) {
+        this(capacity, refillPerSecond, idleTimeout, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(long capacity, double refillPerSecond, Duration idleTimeout, long maxKeys, LongSupplier clock) {
+        if (capacity < 1 || refillPerSecond <= 0 || maxKeys < 1) {
+            throw new IllegalArgumentException("capacity, refillPerSecond and maxKeys must be positive");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.burstNanos = Math.multiplyExact(capacity, intervalNanos);
+        this.clock = clock;
+        long idleNanos = Math.max(idleTimeout.toNanos(), burstNanos);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleNanos, TimeUnit.NANOSECONDS)
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Take one token from the key's bucket.
+     *
+     * @param key Caller identity, e.g. {@code "user:42"} or {@code "ip:10.0.0.1"}
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = clock.getAsLong();
+            long current = fullAt.get();
+            // A bucket that filled up in the past counts as full now
+            long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + intervalNanos;
+            long wait = next - burstNanos - now;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return buckets currently held, after evicting idle ones
+     */
+    public long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
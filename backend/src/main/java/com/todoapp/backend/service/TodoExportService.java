@@ -0,0 +1,206 @@
+package com.todoapp.backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.backend.model.Priority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Streams all todos of a user to an output stream, one row at a time.
+ *
+ * <p>Rows are read with plain JDBC through a forward-only result set with a bounded
+ * fetch size (on Postgres this becomes a server-side cursor because the read runs
+ * inside a transaction), and each row is written out as soon as it is read. No
+ * entities, DTOs or intermediate lists are created, so memory use stays constant no
+ * matter how many todos the user has.</p>
+ *
+ * <p>Supported formats:</p>
+ * <ul>
+ *   <li>NDJSON - one JSON object per line, same field names as the list endpoint</li>
+ *   <li>CSV - header row followed by one row per todo (RFC 4180 quoting)</li>
+ * </ul>
+ */
+@Service
+public class TodoExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoExportService.class);
+
+    // Deliberately unordered: an ORDER BY lets the planner choose a sort, which buffers the
+    // whole result before the first row is returned. An export is a full dump, so rows are
+    // emitted in whatever order the user_id index scan produces them.
+    private static final String EXPORT_SQL =
+            "SELECT t.id, t.title, t.description, t.priority, c.name AS category, t.completed, t.created_at, t.updated_at " +
+            "FROM todos t LEFT JOIN todo_categories c ON c.category_id = t.category_id WHERE t.user_id = ?";
+
+    private static final String CSV_HEADER = "id,title,description,priority,category,completed,createdAt,updatedAt\r\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory;
+
+    @Autowired
+    public TodoExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Write the user's todos as newline-delimited JSON.
+     *
+     * @param userId owner of the todos
+     * @param out destination stream (not closed by this method)
+     * @return number of rows written
+     */
+    public long exportNdjson(Long userId, OutputStream out) throws IOException {
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(new SerializedString("\n"));
+
+            long rows = streamRows(userId, rs -> {
+                try {
+                    writeJsonRow(json, rs);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            if (rows > 0) {
+                json.writeRaw('\n');
+            }
+            return rows;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Write the user's todos as CSV with a header row. Text that a spreadsheet would run as
+     * a formula is prefixed with an apostrophe.
+     *
+     * @param userId owner of the todos
+     * @param out destination stream (not closed by this method)
+     * @return number of rows written
+     */
+    public long exportCsv(Long userId, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        try {
+            writer.write(CSV_HEADER);
+            long rows = streamRows(userId, rs -> {
+                try {
+                    writeCsvRow(writer, rs);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            writer.flush();
+            return rows;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private long streamRows(Long userId, RowCallbackHandler handler) {
+        long[] count = {0};
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query(EXPORT_SQL, rs -> {
+                    handler.processRow(rs);
+                    count[0]++;
+                }, userId));
+        logger.debug("Exported {} todos for user ID: {}", count[0], userId);
+        return count[0];
+    }
+
+    private static void writeJsonRow(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+        json.writeStartObject();
+        json.writeNumberField("id", rs.getLong("id"));
+        json.writeStringField("title", rs.getString("title"));
+        json.writeStringField("description", rs.getString("description"));
+        json.writeStringField("priority", priorityName(rs));
+        json.writeStringField("category", rs.getString("category"));
+        json.writeBooleanField("completed", rs.getBoolean("completed"));
+        json.writeStringField("createdAt", isoInstant(rs.getTimestamp("created_at")));
+        json.writeStringField("updatedAt", isoInstant(rs.getTimestamp("updated_at")));
+        json.writeEndObject();
+    }
+
+    private static void writeCsvRow(Writer writer, ResultSet rs) throws IOException, SQLException {
+        writer.write(Long.toString(rs.getLong("id")));
+        writer.write(',');
+        writeCsvField(writer, neutralizeFormula(rs.getString("title")));
+        writer.write(',');
+        writeCsvField(writer, neutralizeFormula(rs.getString("description")));
+        writer.write(',');
+        writeCsvField(writer, priorityName(rs));
+        writer.write(',');
+        writeCsvField(writer, neutralizeFormula(rs.getString("category")));
+        writer.write(',');
+        writer.write(Boolean.toString(rs.getBoolean("completed")));
+        writer.write(',');
+        writeCsvField(writer, isoInstant(rs.getTimestamp("created_at")));
+        writer.write(',');
+        writeCsvField(writer, isoInstant(rs.getTimestamp("updated_at")));
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // Spreadsheets run a cell starting with one of these as a formula (CSV injection); a
+    // leading apostrophe makes them show the text instead
+    private static String neutralizeFormula(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        return switch (value.charAt(0)) {
+            case '=', '+', '-', '@', '\t', '\r' -> "'" + value;
+            default -> value;
+        };
+    }
+
+    // Stored as the SMALLINT code, exported by name like the API
+    private static String priorityName(ResultSet rs) throws SQLException {
+        return Priority.fromCode(rs.getShort("priority")).name();
+    }
+
+    private static String isoInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant().toString();
+    }
+}
@@ -0,0 +1,146 @@
+package com.todoapp.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.repository.TodoRepository;
+import com.todoapp.backend.repository.TodoSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * In-process cache of each user's complete todo list (newest first).
+ *
+ * <p>The list endpoint is read far more often than todos change, so the user's base list
+ * is cached once and every filter/page combination is computed from it in memory.
+ * Writes go through {@link TodoService}, which calls {@link #invalidate(Long)}; the
+ * invalidation runs after the transaction commits so a concurrent reader can never
+ * re-populate the cache with the pre-commit state.</p>
+ *
+ * <p>Each entry also remembers the user's change version it was loaded at, and a lookup
+ * with a newer version reloads it. That keeps the cache correct when the write happened
+ * on another node, where the local invalidation never ran.</p>
+ *
+ * <p>Heap use is bounded by {@code app.todo-cache.max-weight}, the total number of todos
+ * held across all users. Users with more than {@code app.todo-cache.max-entry-size} todos
+ * are not cached; the controller serves them straight from the database.</p>
+ */
+@Component
+public class TodoListCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoListCache.class);
+
+    /** A user's list as of a change version; {@code todos == null} marks a list too large to cache. */
+    private record Entry(long version, List<TodoResponseDTO> todos) {
+        int weight() {
+            return 1 + (todos == null ? 0 : todos.size());
+        }
+    }
+
+    private final TodoRepository todoRepository;
+    private final boolean enabled;
+    private final int maxEntrySize;
+    private final Cache<Long, Entry> cache;
+
+    public TodoListCache(TodoRepository todoRepository,
+                         @Value("${app.todo-cache.enabled:true}") boolean enabled,
+                         @Value("${app.todo-cache.max-weight:200000}") long maxWeight,
+                         @Value("${app.todo-cache.max-entry-size:5000}") int maxEntrySize,
+                         @Value("${app.todo-cache.ttl:10m}") Duration ttl) {
+        this.todoRepository = todoRepository;
+        this.enabled = enabled;
+        this.maxEntrySize = maxEntrySize;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long userId, Entry entry) -> entry.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get the user's full list, loading it from the database on a miss or when the cached
+     * copy is older than {@code currentVersion}.
+     *
+     * @param userId Owner of the todos
+     * @param currentVersion The user's current change version
+     * @return unmodifiable list ordered by {@link TodoSpecifications#KEYSET_ORDER}, or
+     *         {@code null} if caching is disabled or the user has too many todos to cache
+     */
+    public List<TodoResponseDTO> getList(Long userId, long currentVersion) {
+        if (!enabled) {
+            return null;
+        }
+        // Not cache.get(key, loader): that runs the JDBC load inside ConcurrentHashMap.compute,
+        // which holds a monitor and pins the carrier when running on virtual threads.
+        // Two concurrent misses for the same user simply both load.
+        Entry entry = cache.getIfPresent(userId);
+        if (entry == null || entry.version() < currentVersion) {
+            entry = load(userId, currentVersion);
+            cache.put(userId, entry);
+        }
+        return entry.todos();
+    }
+
+    /**
+     * Drop the user's cached list. Inside a transaction this is deferred until after commit.
+     *
+     * @param userId Owner of the todos that changed
+     */
+    public void invalidate(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        } else {
+            cache.invalidate(userId);
+        }
+    }
+
+    /**
+     * Hit, miss, load and eviction counters since startup.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Number of cached entries (users), including "too large" markers.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Underlying Caffeine cache, for metrics binding.
+     */
+    public Cache<Long, ?> nativeCache() {
+        return cache;
+    }
+
+    private Entry load(Long userId, long version) {
+        // One row past the limit tells us the list is too large without counting
+        List<TodoResponseDTO> rows = todoRepository.findListRows(userId, Limit.of(maxEntrySize + 1));
+        if (rows.size() > maxEntrySize) {
+            logger.debug("Not caching todo list for user ID {}: more than {} todos", userId, maxEntrySize);
+            return new Entry(version, null);
+        }
+        return new Entry(version, Collections.unmodifiableList(rows));
+    }
+}
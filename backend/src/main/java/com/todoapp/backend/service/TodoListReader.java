@@ -0,0 +1,207 @@
+package com.todoapp.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.todoapp.backend.dto.response.TodoListStream;
+import com.todoapp.backend.model.Priority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unpaged todo lists for users whose list is too large for {@link TodoListCache}.
+ *
+ * <p>Loading those through JPA builds a managed {@code Todo} per row (with its dirty
+ * checking snapshot and a lazy {@code User} proxy), copies each into a
+ * {@code TodoResponseDTO} and only then serializes the list. Here the selected columns go
+ * from the result set straight to the response's {@link JsonGenerator}: nothing is kept
+ * per row once it is written, so a request allocates little beyond the JDBC values
+ * themselves. Rows are read like {@link TodoExportService} does, forward-only with a
+ * bounded fetch size in a read-only transaction.</p>
+ *
+ * <p>Order and filters match {@code TodoSpecifications.forUser} with
+ * {@code TodoSpecifications.KEYSET_ORDER}.</p>
+ */
+@Service
+public class TodoListReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoListReader.class);
+
+    private static final String SELECT =
+            "SELECT t.id, t.title, t.description, t.priority, c.name, t.completed, t.created_at, t.updated_at, t.version " +
+            "FROM todos t LEFT JOIN todo_categories c ON c.category_id = t.category_id WHERE t.user_id = ?";
+    private static final String ORDER = " ORDER BY t.created_at DESC, t.id DESC";
+
+    // Field names of TodoResponseDTO, encoded once
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString PRIORITY = new SerializedString("priority");
+    private static final SerializableString CATEGORY = new SerializedString("category");
+    private static final SerializableString COMPLETED = new SerializedString("completed");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnnZ
+    static final int INSTANT_LENGTH = 30;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public TodoListReader(DataSource dataSource,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * The user's todos, newest first, as a body that is read from the database while it is
+     * serialized.
+     *
+     * @param userId Owner of the todos
+     * @param priority Only this priority, or null for all
+     * @param category Only this category name, or null/empty for all
+     * @param completed Only this completion state, or null for all
+     * @return list body for {@code ApiResponseDTO.data}
+     */
+    public TodoListStream stream(Long userId, Priority priority, String category, Boolean completed) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>(4);
+        args.add(userId);
+        if (priority != null) {
+            sql.append(" AND t.priority = ?");
+            args.add(priority.getCode());
+        }
+        if (category != null && !category.isEmpty()) {
+            sql.append(" AND c.name = ?");
+            args.add(category);
+        }
+        if (completed != null) {
+            sql.append(" AND t.completed = ?");
+            args.add(completed);
+        }
+        sql.append(ORDER);
+        return new TodoListStream(json -> writeRows(json, sql.toString(), args.toArray(), userId));
+    }
+
+    private long writeRows(JsonGenerator json, String sql, Object[] args, Long userId) throws IOException {
+        long[] count = {0};
+        char[] instantBuffer = new char[INSTANT_LENGTH];
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query(sql, rs -> {
+                        try {
+                            writeRow(json, rs, instantBuffer);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                        count[0]++;
+                    }, args));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        logger.debug("Streamed {} todos for user ID: {}", count[0], userId);
+        return count[0];
+    }
+
+    private static void writeRow(JsonGenerator json, ResultSet rs, char[] instantBuffer) throws IOException, SQLException {
+        json.writeStartObject();
+        json.writeFieldName(ID);
+        json.writeNumber(rs.getLong(1));
+        json.writeFieldName(TITLE);
+        json.writeString(rs.getString(2));
+        json.writeFieldName(DESCRIPTION);
+        json.writeString(rs.getString(3));
+        json.writeFieldName(PRIORITY);
+        json.writeString(Priority.fromCode(rs.getShort(4)).name());
+        json.writeFieldName(CATEGORY);
+        json.writeString(rs.getString(5));
+        json.writeFieldName(COMPLETED);
+        json.writeBoolean(rs.getBoolean(6));
+        json.writeFieldName(CREATED_AT);
+        writeInstant(json, rs.getTimestamp(7), instantBuffer);
+        json.writeFieldName(UPDATED_AT);
+        writeInstant(json, rs.getTimestamp(8), instantBuffer);
+        json.writeFieldName(VERSION);
+        json.writeNumber(rs.getLong(9));
+        json.writeEndObject();
+    }
+
+    /*
+     * Writes the timestamp in the ISO-8601 form Jackson writes for Instant fields
+     * (Instant.toString: UTC, fraction in groups of three digits, none when zero). The JDK
+     * splits it into fields; only the digits are written by hand, into the caller's buffer.
+     * Instant.toString allocates about 500 bytes per call, twice per row
+     * (TimestampFormatBenchmark: 24 B/op and 115 ns against 519 B/op and 293 ns).
+     */
+    static void writeInstant(JsonGenerator json, Timestamp timestamp, char[] buffer) throws IOException {
+        if (timestamp == null) {
+            json.writeNull();
+            return;
+        }
+        LocalDateTime utc = LocalDateTime.ofEpochSecond(
+                Math.floorDiv(timestamp.getTime(), 1000L), timestamp.getNanos(), ZoneOffset.UTC);
+        int year = utc.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed or five-digit years; not worth a fast path
+            json.writeString(timestamp.toInstant().toString());
+            return;
+        }
+
+        int pos = digits(buffer, 0, year, 4);
+        buffer[pos++] = '-';
+        pos = digits(buffer, pos, utc.getMonthValue(), 2);
+        buffer[pos++] = '-';
+        pos = digits(buffer, pos, utc.getDayOfMonth(), 2);
+        buffer[pos++] = 'T';
+        pos = digits(buffer, pos, utc.getHour(), 2);
+        buffer[pos++] = ':';
+        pos = digits(buffer, pos, utc.getMinute(), 2);
+        buffer[pos++] = ':';
+        pos = digits(buffer, pos, utc.getSecond(), 2);
+        int nanos = utc.getNano();
+        if (nanos != 0) {
+            buffer[pos++] = '.';
+            if (nanos % 1_000_000 == 0) {
+                pos = digits(buffer, pos, nanos / 1_000_000, 3);
+            } else if (nanos % 1000 == 0) {
+                pos = digits(buffer, pos, nanos / 1000, 6);
+            } else {
+                pos = digits(buffer, pos, nanos, 9);
+            }
+        }
+        buffer[pos++] = 'Z';
+        json.writeString(buffer, 0, pos);
+    }
+
+    // Zero-padded to width
+    private static int digits(char[] buffer, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
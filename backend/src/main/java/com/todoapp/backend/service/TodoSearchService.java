@@ -0,0 +1,150 @@
+package com.todoapp.backend.service;
+
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.dto.response.TodoSearchPageDTO;
+import com.todoapp.backend.model.Priority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Full-text search over the title and description of a user's todos.
+ *
+ * <p>On Postgres the query runs against the {@code search_vector} generated column and its
+ * GIN index (V6 migration): the text is parsed with {@code websearch_to_tsquery} (so
+ * quoted phrases, {@code or} and {@code -word} work), matches are ranked with
+ * {@code ts_rank} where title hits weigh more than description hits, and stemming applies
+ * ("tasks" finds "task").</p>
+ *
+ * <p>Other databases (the H2 test profile) fall back to case-insensitive substring
+ * matching: every word must appear in the title or description, and todos matching more
+ * words in the title come first. It scans the user's rows and is meant for tests only.</p>
+ *
+ * <p>Results are paged with LIMIT/OFFSET since rank order has no stable cursor; one extra
+ * row is fetched to tell whether another page exists.</p>
+ */
+@Service
+public class TodoSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoSearchService.class);
+
+    // Bounds the size of the fallback query; words beyond this are ignored
+    static final int MAX_FALLBACK_TERMS = 8;
+
+    private static final String COLUMNS =
+            "t.id, t.title, t.description, t.priority, c.name AS category, t.completed, " +
+            "t.created_at, t.updated_at, t.version";
+
+    // Category names live in the per-user dictionary
+    private static final String TODOS_WITH_CATEGORY =
+            "todos t LEFT JOIN todo_categories c ON c.category_id = t.category_id";
+
+    private static final String POSTGRES_SQL =
+            "SELECT " + COLUMNS + " FROM websearch_to_tsquery('english', ?) query, " + TODOS_WITH_CATEGORY + " " +
+            "WHERE t.user_id = ? AND t.search_vector @@ query " +
+            "ORDER BY ts_rank(t.search_vector, query) DESC, t.id DESC " +
+            "LIMIT ? OFFSET ?";
+
+    private static final RowMapper<TodoResponseDTO> ROW_MAPPER = (rs, rowNum) -> {
+        TodoResponseDTO dto = new TodoResponseDTO();
+        dto.setId(rs.getLong("id"));
+        dto.setTitle(rs.getString("title"));
+        dto.setDescription(rs.getString("description"));
+        dto.setPriority(Priority.fromCode(rs.getShort("priority")).name());
+        dto.setCategory(rs.getString("category"));
+        dto.setCompleted(rs.getBoolean("completed"));
+        dto.setCreatedAt(toInstant(rs.getTimestamp("created_at")));
+        dto.setUpdatedAt(toInstant(rs.getTimestamp("updated_at")));
+        dto.setVersion(rs.getLong("version"));
+        return dto;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public TodoSearchService(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.postgres = isPostgres(dataSource);
+    }
+
+    /**
+     * Search the user's todos, best match first.
+     *
+     * @param userId owner of the todos
+     * @param query search text as typed by the user (must not be blank)
+     * @param page zero-based page number
+     * @param size page size
+     * @return the requested page
+     */
+    public TodoSearchPageDTO search(Long userId, String query, int page, int size) {
+        long offset = (long) page * size;
+        List<TodoResponseDTO> rows = postgres
+                ? jdbcTemplate.query(POSTGRES_SQL, ROW_MAPPER, query, userId, size + 1, offset)
+                : searchFallback(userId, query, size + 1, offset);
+
+        boolean hasMore = rows.size() > size;
+        List<TodoResponseDTO> items = hasMore ? rows.subList(0, size) : rows;
+        logger.debug("Search for user ID {} returned {} todos (page {})", userId, items.size(), page);
+        return new TodoSearchPageDTO(items, page, size, hasMore);
+    }
+
+    private List<TodoResponseDTO> searchFallback(Long userId, String query, int limit, long offset) {
+        List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_FALLBACK_TERMS)
+                .map(term -> "%" + escapeLike(term) + "%")
+                .toList();
+
+        StringBuilder where = new StringBuilder("t.user_id = ?");
+        StringBuilder titleHits = new StringBuilder("0");
+        List<Object> whereArgs = new ArrayList<>();
+        List<Object> rankArgs = new ArrayList<>();
+        whereArgs.add(userId);
+        for (String term : terms) {
+            where.append(" AND (LOWER(t.title) LIKE ? ESCAPE '\\' OR LOWER(t.description) LIKE ? ESCAPE '\\')");
+            whereArgs.add(term);
+            whereArgs.add(term);
+            titleHits.append(" + CASE WHEN LOWER(t.title) LIKE ? ESCAPE '\\' THEN 1 ELSE 0 END");
+            rankArgs.add(term);
+        }
+
+        String sql = "SELECT " + COLUMNS + " FROM " + TODOS_WITH_CATEGORY + " WHERE " + where +
+                " ORDER BY " + titleHits + " DESC, t.id DESC LIMIT ? OFFSET ?";
+        List<Object> args = new ArrayList<>(whereArgs);
+        args.addAll(rankArgs);
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException ex) {
+            logger.warn("Could not detect the database, using the substring search fallback", ex);
+            return false;
+        }
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,482 @@
+package com.todoapp.backend.service;
+
+import com.todoapp.backend.dto.request.TodoBatchOperationDTO;
+import com.todoapp.backend.dto.request.TodoPatchDTO;
+import com.todoapp.backend.dto.request.TodoRequestDTO;
+import com.todoapp.backend.dto.response.TodoBatchResultDTO;
+import com.todoapp.backend.dto.response.TodoPatchResultDTO;
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.dto.response.TodoStatsDTO;
+import com.todoapp.backend.event.TodoEvent;
+import com.todoapp.backend.exception.TodoNotFoundException;
+import com.todoapp.backend.exception.TodoVersionConflictException;
+import com.todoapp.backend.model.Priority;
+import com.todoapp.backend.model.Todo;
+import com.todoapp.backend.model.TodoCategory;
+import com.todoapp.backend.model.TodoChangeCounter;
+import com.todoapp.backend.model.TodoStatCounter;
+import com.todoapp.backend.model.TodoTombstone;
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.repository.TodoCategoryRepository;
+import com.todoapp.backend.repository.TodoChangeCounterRepository;
+import com.todoapp.backend.repository.TodoRepository;
+import com.todoapp.backend.repository.TodoStatKeyView;
+import com.todoapp.backend.repository.TodoStatCounterRepository;
+import com.todoapp.backend.repository.TodoTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Write operations on todos.
+ *
+ * <p>Single-item create/update/delete used by {@code TodoController}, plus
+ * {@link #applyBatch(User, List)} which applies many operations in one transaction.
+ * Todo ids come from a pooled sequence, so inserts, updates and deletes issued
+ * here are grouped into JDBC batches ({@code hibernate.jdbc.batch_size}) instead of
+ * one round trip per row.</p>
+ *
+ * <p>Every write also adjusts the user's {@link TodoStatCounter} rows, which back
+ * {@link #stats(Long)}, stamps created/updated todos with the new change version
+ * ({@code change_seq}) and leaves a {@link TodoTombstone} for each delete, which back the
+ * changes feed. A {@link TodoEvent} is published for each write and reaches open streams
+ * after commit (see {@code TodoEventRelay}).</p>
+ *
+ * <p>Todos carry an optimistic lock version. {@link #patch(Long, Long, TodoPatchDTO)} and
+ * {@link #delete(Long, Long, Long)} scope their statement by owner (and version) instead of
+ * loading the todo; a write based on a stale version fails with
+ * {@link TodoVersionConflictException}.</p>
+ */
+@Service
+@Transactional
+public class TodoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoService.class);
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String INVALID_PRIORITY = "priority must be one of LOW, MEDIUM, HIGH";
+
+    private final TodoRepository todoRepository;
+    private final TodoCategoryRepository todoCategoryRepository;
+    private final TodoChangeCounterRepository todoChangeCounterRepository;
+    private final TodoStatCounterRepository todoStatCounterRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final TodoListCache todoListCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TodoService(TodoRepository todoRepository,
+                       TodoCategoryRepository todoCategoryRepository,
+                       TodoChangeCounterRepository todoChangeCounterRepository,
+                       TodoStatCounterRepository todoStatCounterRepository,
+                       TodoTombstoneRepository todoTombstoneRepository,
+                       TodoListCache todoListCache,
+                       ApplicationEventPublisher eventPublisher) {
+        this.todoRepository = todoRepository;
+        this.todoCategoryRepository = todoCategoryRepository;
+        this.todoChangeCounterRepository = todoChangeCounterRepository;
+        this.todoStatCounterRepository = todoStatCounterRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.todoListCache = todoListCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Current change version of the user's todo list. Increases with every committed
+     * create/update/delete, so equal versions mean an identical list.
+     *
+     * @param userId Owner of the todos
+     * @return version, 0 if the user never changed a todo
+     */
+    @Transactional(readOnly = true)
+    public long currentVersion(Long userId) {
+        return todoChangeCounterRepository.findVersion(userId).orElse(0L);
+    }
+
+    /**
+     * Todo counts of the user by completion, priority and category, summed from the
+     * user's stat counters (one row per combination in use, not per todo).
+     *
+     * @param userId Owner of the todos
+     * @return counts, all zero if the user has no todos
+     */
+    @Transactional(readOnly = true)
+    public TodoStatsDTO stats(Long userId) {
+        long total = 0;
+        long completed = 0;
+        long uncategorized = 0;
+        Map<String, Long> byPriority = new TreeMap<>();
+        Map<String, Long> byCategory = new TreeMap<>();
+        for (TodoStatCounter counter : todoStatCounterRepository.findNonEmpty(userId)) {
+            long count = counter.getTodoCount();
+            total += count;
+            if (counter.isCompleted()) {
+                completed += count;
+            }
+            byPriority.merge(counter.getPriority(), count, Long::sum);
+            if (TodoStatCounter.NO_CATEGORY.equals(counter.getCategory())) {
+                uncategorized += count;
+            } else {
+                byCategory.merge(counter.getCategory(), count, Long::sum);
+            }
+        }
+        return new TodoStatsDTO(total, completed, byPriority, byCategory, uncategorized);
+    }
+
+    /**
+     * Create a todo owned by the given user.
+     *
+     * @param user Owner of the new todo
+     * @param dto Todo fields
+     * @return The saved todo
+     */
+    public Todo create(User user, TodoRequestDTO dto) {
+        long changeSeq = nextChangeSeq(user.getId());
+        Todo todo = new Todo();
+        applyChanges(todo, dto, new HashMap<>(), user.getId());
+        todo.setUser(user);
+        todo.setChangeSeq(changeSeq);
+        Todo saved = todoRepository.save(todo);
+        recordChange(user.getId(), Map.of(TodoStatCounter.Key.of(saved), 1L));
+        publish(TodoEvent.CREATED, saved);
+        return saved;
+    }
+
+    /**
+     * Update a todo owned by the given user. Null fields in the request are left unchanged.
+     *
+     * @param user Caller, must own the todo
+     * @param id Todo ID
+     * @param dto New values, optionally with the version the client last saw
+     * @return The updated todo
+     * @throws TodoNotFoundException if the todo does not exist or belongs to another user
+     * @throws TodoVersionConflictException if {@code dto.version} is not the current version
+     */
+    public Todo update(User user, Long id, TodoRequestDTO dto) {
+        Todo todo = todoRepository.findById(id)
+                .filter(found -> isOwner(found, user))
+                .orElseThrow(() -> new TodoNotFoundException(id));
+        if (dto.getVersion() != null && dto.getVersion() != todo.getVersion()) {
+            throw new TodoVersionConflictException(id);
+        }
+
+        Map<TodoStatCounter.Key, Long> statDeltas = new HashMap<>();
+        // Before touching the entity: the counter UPDATE flushes pending changes
+        long changeSeq = nextChangeSeq(user.getId());
+        statDeltas.merge(TodoStatCounter.Key.of(todo), -1L, Long::sum);
+        applyChanges(todo, dto, new HashMap<>(), user.getId());
+        todo.setChangeSeq(changeSeq);
+        // Flush so the new version (and a concurrent edit, via @Version) shows up here
+        Todo saved = todoRepository.saveAndFlush(todo);
+        statDeltas.merge(TodoStatCounter.Key.of(saved), 1L, Long::sum);
+        recordChange(user.getId(), statDeltas);
+        publish(TodoEvent.UPDATED, saved);
+        return saved;
+    }
+
+    /**
+     * Partially update a todo owned by the given user with a single owner- and
+     * version-scoped UPDATE; the todo entity is never loaded. Only a patch that changes
+     * completion, priority or category first reads those columns, to move the todo
+     * between stat counters.
+     *
+     * @param userId Caller, must own the todo
+     * @param id Todo ID
+     * @param dto Fields to change and the version the client last saw (required)
+     * @return The todo's new version and update time
+     * @throws TodoNotFoundException if the todo does not exist or belongs to another user
+     * @throws TodoVersionConflictException if {@code dto.version} is not the current version
+     */
+    public TodoPatchResultDTO patch(Long userId, Long id, TodoPatchDTO dto) {
+        long version = dto.getVersion();
+        long changeSeq = nextChangeSeq(userId);
+        Priority priority = dto.getPriority() == null ? null : Priority.parse(dto.getPriority());
+        TodoCategory category = dto.getCategory() == null ? null : category(userId, dto.getCategory(), new HashMap<>());
+        Map<TodoStatCounter.Key, Long> statDeltas = new HashMap<>();
+        if (dto.changesStatKey()) {
+            TodoStatKeyView current = todoRepository.findStatKey(id, userId)
+                    .orElseThrow(() -> new TodoNotFoundException(id));
+            if (current.version() != version) {
+                throw new TodoVersionConflictException(id);
+            }
+            statDeltas.merge(current.key(userId), -1L, Long::sum);
+            statDeltas.merge(TodoStatCounter.Key.of(userId,
+                    dto.getCompleted() != null ? dto.getCompleted() : current.completed(),
+                    priority != null ? priority : current.priority(),
+                    dto.getCategory() != null ? dto.getCategory() : current.category()), 1L, Long::sum);
+        }
+
+        Instant updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        int updated = todoRepository.patch(id, userId, version, dto.getTitle(), dto.getDescription(), priority,
+                dto.getCategory() != null, category == null ? null : category.getId(),
+                dto.getCompleted(), changeSeq, updatedAt);
+        if (updated == 0) {
+            throw notFoundOrConflict(id, userId);
+        }
+        recordChange(userId, statDeltas);
+        // The stream gets no todo body: the row is not read back, clients fetch it if needed
+        eventPublisher.publishEvent(new TodoEvent(TodoEvent.UPDATED, userId, id, changeSeq, null));
+        return new TodoPatchResultDTO(id, version + 1, updatedAt);
+    }
+
+    /**
+     * Delete a todo owned by the given user with one owner-scoped DELETE that returns the
+     * deleted row's stat counter columns; the todo entity is never loaded or read first.
+     *
+     * @param userId Caller, must own the todo
+     * @param id Todo ID
+     * @param version Version the client last saw, or null to delete whatever is current
+     * @throws TodoNotFoundException if the todo does not exist or belongs to another user
+     * @throws TodoVersionConflictException if {@code version} is not the current version
+     */
+    public void delete(Long userId, Long id, Long version) {
+        long changeSeq = nextChangeSeq(userId);
+        TodoStatKeyView deleted = todoRepository.deleteOwned(id, userId, version)
+                .orElseThrow(() -> version == null ? new TodoNotFoundException(id) : notFoundOrConflict(id, userId));
+        todoTombstoneRepository.save(new TodoTombstone(id, userId, changeSeq));
+        recordChange(userId, Map.of(deleted.key(userId), -1L));
+        eventPublisher.publishEvent(new TodoEvent(TodoEvent.DELETED, userId, id, changeSeq, null));
+    }
+
+    // Only on failure: tell a stale version from a missing todo
+    private RuntimeException notFoundOrConflict(Long id, Long userId) {
+        return todoRepository.existsByIdAndUserId(id, userId)
+                ? new TodoVersionConflictException(id)
+                : new TodoNotFoundException(id);
+    }
+
+    /**
+     * Apply a list of create/update/delete operations in a single transaction.
+     *
+     * <p>Todos referenced by update/delete operations are loaded with one query. Invalid
+     * operations (unknown op, missing todo) are reported in their result entry
+     * and skipped; a todo of another user is reported as missing, as on the single-item
+     * endpoints. The remaining operations are still applied. Any database error rolls
+     * back the whole batch.</p>
+     *
+     * @param user Caller; all todos touched must belong to this user
+     * @param operations Operations in the order they should be applied
+     * @return One result per operation, in request order
+     */
+    public List<TodoBatchResultDTO> applyBatch(User user, List<TodoBatchOperationDTO> operations) {
+        Set<Long> referencedIds = new HashSet<>();
+        for (TodoBatchOperationDTO operation : operations) {
+            if (operation != null && operation.getId() != null) {
+                referencedIds.add(operation.getId());
+            }
+        }
+
+        // Other users' todos are left out, so they get the same 404 as missing ones
+        Map<Long, Todo> existing = new HashMap<>();
+        for (Todo todo : todoRepository.findAllById(referencedIds)) {
+            if (isOwner(todo, user)) {
+                existing.put(todo.getId(), todo);
+            }
+        }
+
+        TodoBatchResultDTO[] results = new TodoBatchResultDTO[operations.size()];
+        // One change version for the whole batch, taken before the first entity is modified
+        // (the counter UPDATE flushes pending changes); 0 until then
+        long changeSeq = 0;
+        Map<TodoStatCounter.Key, Long> statDeltas = new HashMap<>();
+        Map<Integer, Todo> created = new HashMap<>();
+        Map<Integer, Todo> updated = new HashMap<>();
+        List<Todo> deleted = new ArrayList<>();
+        Map<String, TodoCategory> categories = new HashMap<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            TodoBatchOperationDTO operation = operations.get(i);
+            String op = operation == null || operation.getOp() == null ? null : operation.getOp().toLowerCase();
+            Long id = operation == null ? null : operation.getId();
+
+            if ("create".equals(op)) {
+                if (operation.getTodo() == null) {
+                    results[i] = new TodoBatchResultDTO(i, op, null, 400, "Missing todo", null);
+                    continue;
+                }
+                if (hasInvalidPriority(operation.getTodo())) {
+                    results[i] = new TodoBatchResultDTO(i, op, null, 400, INVALID_PRIORITY, null);
+                    continue;
+                }
+                if (changeSeq == 0) {
+                    changeSeq = nextChangeSeq(user.getId());
+                }
+                Todo todo = new Todo();
+                applyChanges(todo, operation.getTodo(), categories, user.getId());
+                todo.setUser(user);
+                todo.setChangeSeq(changeSeq);
+                created.put(i, todo);
+                statDeltas.merge(TodoStatCounter.Key.of(todo), 1L, Long::sum);
+                continue;
+            }
+
+            if (!"update".equals(op) && !"delete".equals(op)) {
+                results[i] = new TodoBatchResultDTO(i, op, id, 400, "Unknown operation", null);
+                continue;
+            }
+
+            Todo todo = id == null ? null : existing.get(id);
+            if (todo == null) {
+                results[i] = new TodoBatchResultDTO(i, op, id, 404, "Todo not found", null);
+                continue;
+            }
+            if ("update".equals(op)) {
+                if (operation.getTodo() == null) {
+                    results[i] = new TodoBatchResultDTO(i, op, id, 400, "Missing todo", null);
+                    continue;
+                }
+                if (hasInvalidPriority(operation.getTodo())) {
+                    results[i] = new TodoBatchResultDTO(i, op, id, 400, INVALID_PRIORITY, null);
+                    continue;
+                }
+                Long expectedVersion = operation.getTodo().getVersion();
+                if (expectedVersion != null && expectedVersion != todo.getVersion()) {
+                    results[i] = new TodoBatchResultDTO(i, op, id, 409, "Todo was modified concurrently", null);
+                    continue;
+                }
+                if (changeSeq == 0) {
+                    changeSeq = nextChangeSeq(user.getId());
+                }
+                statDeltas.merge(TodoStatCounter.Key.of(todo), -1L, Long::sum);
+                applyChanges(todo, operation.getTodo(), categories, user.getId());
+                todo.setChangeSeq(changeSeq);
+                statDeltas.merge(TodoStatCounter.Key.of(todo), 1L, Long::sum);
+                updated.put(i, todo);
+            } else {
+                if (changeSeq == 0) {
+                    changeSeq = nextChangeSeq(user.getId());
+                }
+                // Later operations in the same batch must not see the deleted todo
+                existing.remove(id);
+                deleted.add(todo);
+                statDeltas.merge(TodoStatCounter.Key.of(todo), -1L, Long::sum);
+                results[i] = new TodoBatchResultDTO(i, op, id, 200, "Todo deleted successfully", null);
+            }
+        }
+
+        long deleteSeq = changeSeq;
+        todoTombstoneRepository.saveAll(deleted.stream()
+                .map(todo -> new TodoTombstone(todo.getId(), user.getId(), deleteSeq))
+                .toList());
+        todoRepository.saveAll(created.values());
+        todoRepository.deleteAll(deleted);
+        // Flush now so generated ids and timestamps are final in the returned DTOs
+        todoRepository.flush();
+        if (changeSeq != 0) {
+            recordChange(user.getId(), statDeltas);
+            // One event for the batch; clients fetch the details from the changes feed
+            eventPublisher.publishEvent(new TodoEvent(TodoEvent.SYNC, user.getId(), null, changeSeq, null));
+        }
+
+        created.forEach((i, todo) -> results[i] = new TodoBatchResultDTO(
+                i, "create", todo.getId(), 201, "Todo created successfully", TodoResponseDTO.fromEntity(todo)));
+        updated.forEach((i, todo) -> {
+            if (existing.containsKey(todo.getId())) {
+                results[i] = new TodoBatchResultDTO(
+                        i, "update", todo.getId(), 200, "Todo updated successfully", TodoResponseDTO.fromEntity(todo));
+            } else {
+                results[i] = new TodoBatchResultDTO(
+                        i, "update", todo.getId(), 200, "Todo updated successfully (deleted later in batch)", null);
+            }
+        });
+
+        logger.debug("Applied batch for user ID {}: {} created, {} updated, {} deleted",
+                user.getId(), created.size(), updated.size(), deleted.size());
+        return List.of(results);
+    }
+
+    /**
+     * Bump the user's change version in the current transaction and return the new value,
+     * read back from the UPDATE itself. The change counter row stays locked until commit, which serializes concurrent writers
+     * of the same user's list: versions are handed out and committed in the same order, so
+     * once version N is visible every change up to N is too (the changes feed relies on it).
+     *
+     * @param userId Owner of the todos about to change
+     * @return the new change version
+     */
+    private long nextChangeSeq(Long userId) {
+        OptionalLong next = todoChangeCounterRepository.incrementAndGet(userId);
+        if (next.isEmpty()) {
+            // User registered before change counters existed
+            todoChangeCounterRepository.save(new TodoChangeCounter(userId, 1));
+            return 1;
+        }
+        return next.getAsLong();
+    }
+
+    /**
+     * Apply the stat counter deltas of a change and drop the cached list. Must run after
+     * {@link #nextChangeSeq(Long)} in the same transaction: holding the change counter lock
+     * means two writers never race to insert the same stat counter row.
+     *
+     * @param userId Owner of the changed todos
+     * @param statDeltas Count change per stat counter (zero entries are skipped)
+     */
+    private void recordChange(Long userId, Map<TodoStatCounter.Key, Long> statDeltas) {
+        statDeltas.forEach((key, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            int updated = todoStatCounterRepository.add(
+                    key.userId(), key.completed(), key.priority(), key.category(), delta);
+            if (updated == 0) {
+                todoStatCounterRepository.save(new TodoStatCounter(key, delta));
+            }
+        });
+        todoListCache.invalidate(userId);
+    }
+
+    // Delivered to the event bus after commit by TodoEventRelay
+    private void publish(String type, Todo todo) {
+        // getUser().getId() reads the proxy's identifier without initializing it
+        eventPublisher.publishEvent(new TodoEvent(type, todo.getUser().getId(), todo.getId(),
+                todo.getChangeSeq(), TodoResponseDTO.fromEntity(todo)));
+    }
+
+    /**
+     * Copy the request fields onto the todo. Must run after {@link #nextChangeSeq(Long)}:
+     * new category names are added to the user's dictionary, and the change counter lock
+     * keeps two writers from adding the same name.
+     *
+     * @param categories Categories already resolved in this write, by name
+     */
+    private void applyChanges(Todo todo, TodoRequestDTO dto, Map<String, TodoCategory> categories, Long userId) {
+        if (dto.getTitle() != null) todo.setTitle(dto.getTitle());
+        if (dto.getDescription() != null) todo.setDescription(dto.getDescription());
+        if (dto.getPriority() != null) todo.setPriority(Priority.parse(dto.getPriority()));
+        if (dto.getCategory() != null) todo.setCategory(category(userId, dto.getCategory(), categories));
+        todo.setCompleted(dto.isCompleted());
+    }
+
+    // Dictionary entry for the name, created on first use; null for a blank name (no category)
+    private TodoCategory category(Long userId, String name, Map<String, TodoCategory> categories) {
+        if (name.isBlank()) {
+            return null;
+        }
+        return categories.computeIfAbsent(name, key -> todoCategoryRepository.findByUserIdAndName(userId, key)
+                .orElseGet(() -> todoCategoryRepository.save(new TodoCategory(userId, key))));
+    }
+
+    private static boolean hasInvalidPriority(TodoRequestDTO dto) {
+        return dto.getPriority() != null && !Priority.isValid(dto.getPriority());
+    }
+
+    private static boolean isOwner(Todo todo, User user) {
+        // getUser().getId() reads the proxy's identifier without initializing it
+        return Objects.equals(todo.getUser().getId(), user.getId());
+    }
+}
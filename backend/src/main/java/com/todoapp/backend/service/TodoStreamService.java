@@ -0,0 +1,219 @@
+package com.todoapp.backend.service;
+
+import com.todoapp.backend.event.TodoEvent;
+import com.todoapp.backend.event.TodoEventBus;
+import com.todoapp.backend.event.TodoEventListener;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events streams of a user's todo changes.
+ *
+ * <p>Each stream is an async {@link SseEmitter}: once the headers are sent the request
+ * thread goes back to Tomcat, so an idle stream costs a socket and the request's buffers,
+ * not a thread. Events from the {@link TodoEventBus} go into a bounded per-stream buffer;
+ * a stream whose buffer is full (a client that stopped reading) is closed instead of
+ * making the writer wait (the emitter is completed on the drain executor, since completing
+ * waits for a send in progress), and the client reconnects and catches up through the changes
+ * feed. Buffers are written out on virtual threads, one drain at a time per stream.</p>
+ *
+ * <p>A comment line is sent every {@code app.stream.heartbeat} so proxies keep the
+ * connection open and dead clients are noticed.</p>
+ */
+@Service
+public class TodoStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoStreamService.class);
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final TodoEventBus todoEventBus;
+    private final ExecutorService drainExecutor;
+    private final ScheduledExecutorService heartbeatScheduler;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final int bufferSize;
+    private final Set<Stream> streams = ConcurrentHashMap.newKeySet();
+    private final LongAdder dropped = new LongAdder();
+
+    @Autowired
+    public TodoStreamService(TodoEventBus todoEventBus,
+                             @Value("${app.stream.buffer-size:64}") int bufferSize,
+                             @Value("${app.stream.heartbeat:25s}") Duration heartbeat,
+                             @Value("${app.stream.timeout:30m}") Duration timeout) {
+        this(todoEventBus, Executors.newVirtualThreadPerTaskExecutor(),
+                () -> new SseEmitter(timeout.toMillis()), bufferSize, heartbeat);
+    }
+
+    TodoStreamService(TodoEventBus todoEventBus, ExecutorService drainExecutor,
+                      Supplier<SseEmitter> emitterFactory, int bufferSize, Duration heartbeat) {
+        this.todoEventBus = todoEventBus;
+        this.drainExecutor = drainExecutor;
+        this.emitterFactory = emitterFactory;
+        this.bufferSize = bufferSize;
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("todo-stream-heartbeat").daemon().factory());
+        this.heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat,
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a stream of the user's todo events.
+     *
+     * @param userId user whose events to stream
+     * @return emitter to return from the controller
+     */
+    public SseEmitter open(Long userId) {
+        SseEmitter emitter = emitterFactory.get();
+        try {
+            // Held by the emitter until the handler returns, then flushed on the request
+            // thread, so the response is committed there and not by a concurrent drain
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Stream stream = new Stream(userId, emitter);
+        streams.add(stream);
+        stream.unsubscribe = todoEventBus.subscribe(userId, stream);
+        if (stream.closed.get()) {
+            stream.unsubscribe.run();
+        }
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+        return emitter;
+    }
+
+    /**
+     * @return number of open streams
+     */
+    public int getOpenStreams() {
+        return streams.size();
+    }
+
+    /**
+     * @return streams closed because their buffer was full
+     */
+    public long getDroppedStreams() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        streams.forEach(stream -> stream.emitter.complete());
+        drainExecutor.shutdown();
+    }
+
+    private void heartbeat() {
+        streams.forEach(stream -> stream.offer(HEARTBEAT));
+    }
+
+    private final class Stream implements TodoEventListener {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Runnable unsubscribe;
+
+        Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onEvent(TodoEvent event) {
+            offer(event);
+        }
+
+        // Called by publishers and the heartbeat; never blocks
+        void offer(Object item) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(item)) {
+                dropped.increment();
+                logger.debug("Closing todo stream of user ID {}: client is not keeping up", userId);
+                close();
+                completeLater();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                drainExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                try {
+                    Object item;
+                    while (!closed.get() && (item = buffer.poll()) != null) {
+                        send(item);
+                    }
+                } catch (IOException | IllegalStateException ex) {
+                    // Client went away or the emitter already completed
+                    close();
+                } finally {
+                    draining.set(false);
+                }
+                // An offer may have come in after the last poll but before the flag was reset
+            } while (!closed.get() && !buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+                return;
+            }
+            TodoEvent event = (TodoEvent) item;
+            emitter.send(SseEmitter.event()
+                    .name(event.type())
+                    .id(Long.toString(event.changeSeq()))
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        // complete() takes the emitter's write lock, which a drain stuck writing to this
+        // client holds, so the publisher hands it off instead of waiting for the socket
+        private void completeLater() {
+            try {
+                drainExecutor.execute(emitter::complete);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down: the servlet container ends the request
+                logger.debug("Todo stream of user ID {} left for shutdown to close", userId);
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                streams.remove(this);
+                Runnable handle = unsubscribe;
+                if (handle != null) {
+                    handle.run();
+                }
+                buffer.clear();
+            }
+        }
+    }
+}
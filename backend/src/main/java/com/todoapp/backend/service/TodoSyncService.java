@@ -0,0 +1,124 @@
+package com.todoapp.backend.service;
+
+import com.todoapp.backend.dto.response.TodoChangesDTO;
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.model.Todo;
+import com.todoapp.backend.repository.TodoChangeCounterRepository;
+import com.todoapp.backend.repository.TodoChangesCursor;
+import com.todoapp.backend.repository.TodoRepository;
+import com.todoapp.backend.repository.TodoTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Incremental sync: what changed in a user's todo list since a cursor.
+ *
+ * <p>Positions are the user's change versions, not timestamps. {@link TodoService} hands
+ * them out under the change counter row lock and stamps them on created/updated todos
+ * ({@code change_seq}) and on tombstones of deleted ones. A read first takes the current
+ * version V and then returns rows with versions in {@code (since, V]}: every change up to V
+ * is committed once V is visible, so nothing in the range can still appear later, however
+ * writes interleave. A todo changed again after the read simply moves past V and comes in
+ * the next call.</p>
+ *
+ * <p>At most {@link #MAX_CHANGES} todos are returned per call, in {@code (change_seq, id)}
+ * order. A page may stop inside one version, since todos from before the feed all have
+ * version 0 and a batch shares one; the cursor then carries the last todo id. Deletes of a
+ * version are returned with the page that completes it.</p>
+ */
+@Service
+@Transactional(readOnly = true)
+public class TodoSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoSyncService.class);
+
+    static final int MAX_CHANGES = TodoService.MAX_BATCH_SIZE;
+
+    private final TodoRepository todoRepository;
+    private final TodoChangeCounterRepository todoChangeCounterRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final Duration tombstoneRetention;
+
+    public TodoSyncService(TodoRepository todoRepository,
+                           TodoChangeCounterRepository todoChangeCounterRepository,
+                           TodoTombstoneRepository todoTombstoneRepository,
+                           @Value("${app.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.todoRepository = todoRepository;
+        this.todoChangeCounterRepository = todoChangeCounterRepository;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Whether deletes after this cursor may already have been purged.
+     *
+     * @param cursor cursor sent by the client
+     * @return true if the client has to reload the full list
+     */
+    public boolean isExpired(TodoChangesCursor cursor) {
+        return cursor.issuedAt().isBefore(Instant.now().minus(tombstoneRetention));
+    }
+
+    /**
+     * Todos created/updated and ids deleted after the cursor.
+     *
+     * @param userId owner of the todos
+     * @param since cursor from a previous call, or null for a full sync (all todos, no deletes)
+     * @return changes and the cursor to pass next time
+     */
+    public TodoChangesDTO changesSince(Long userId, TodoChangesCursor since) {
+        // Taken before the version: any delete after that version is stamped later than this
+        Instant readAt = Instant.now();
+        long afterSeq = since == null ? -1 : since.changeSeq();
+        // No todo id in the cursor: all of afterSeq is done, so no id in it qualifies
+        long afterId = since == null || since.todoId() == null ? Long.MAX_VALUE : since.todoId();
+        long upTo = todoChangeCounterRepository.findVersion(userId).orElse(0L);
+        if (since != null && since.todoId() == null && afterSeq >= upTo) {
+            return new TodoChangesDTO(List.of(), List.of(), new TodoChangesCursor(upTo, readAt).encode(), false);
+        }
+
+        List<Todo> rows = todoRepository.findChanged(userId, afterSeq, afterId, upTo, Limit.of(MAX_CHANGES + 1));
+        boolean hasMore = rows.size() > MAX_CHANGES;
+        TodoChangesCursor next = new TodoChangesCursor(upTo, readAt);
+        if (hasMore) {
+            Todo last = rows.get(MAX_CHANGES - 1);
+            boolean splitsVersion = rows.get(MAX_CHANGES).getChangeSeq() == last.getChangeSeq();
+            rows = rows.subList(0, MAX_CHANGES);
+            // A partial page keeps the caller's issue time: older tombstones are still pending
+            Instant issuedAt = since != null ? since.issuedAt() : readAt;
+            next = splitsVersion
+                    ? new TodoChangesCursor(last.getChangeSeq(), last.getId(), issuedAt)
+                    : new TodoChangesCursor(last.getChangeSeq(), issuedAt);
+        }
+
+        List<TodoResponseDTO> changed = rows.stream().map(TodoResponseDTO::fromEntity).toList();
+        // Deletes of the versions this page completes
+        List<Long> deleted = since == null || next.completeSeq() <= since.completeSeq()
+                ? List.of()
+                : todoTombstoneRepository.findDeletedIds(userId, since.completeSeq(), next.completeSeq());
+        logger.debug("Changes for user ID {} after {}: {} changed, {} deleted", userId, afterSeq, changed.size(), deleted.size());
+        return new TodoChangesDTO(changed, deleted, next.encode(), hasMore);
+    }
+
+    /**
+     * Delete tombstones older than the retention. Cursors issued before the cutoff are
+     * rejected by {@link #isExpired(TodoChangesCursor)}, so no client relies on them.
+     */
+    @Scheduled(fixedDelayString = "${app.changes.purge-interval:1h}", initialDelayString = "${app.changes.purge-interval:1h}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = todoTombstoneRepository.deleteOlderThan(Instant.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            logger.info("Purged {} todo tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.todoapp.backend.service;
 
+import com.todoapp.backend.model.TodoChangeCounter;
 import com.todoapp.backend.model.User;
+import com.todoapp.backend.repository.TodoChangeCounterRepository;
+import com.todoapp.backend.repository.UserCredentials;
 import com.todoapp.backend.repository.UserRepository;
+import com.todoapp.backend.security.AuthenticatedUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,7 +15,10 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collection;
 import java.util.List;
@@ -36,15 +43,25 @@ public class UserService implements UserDetailsService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
+    private final TodoChangeCounterRepository todoChangeCounterRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository,
+                       TodoChangeCounterRepository todoChangeCounterRepository,
+                       PasswordEncoder passwordEncoder,
+                       PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
+        this.todoChangeCounterRepository = todoChangeCounterRepository;
         this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
      * Register a new user in the system.
+     *
+     * <p>The password is hashed before the transaction starts, so no database connection is
+     * held while the call waits for, and runs on, the password hashing pool.</p>
      * 
      * @param name User's full name
      * @param email User's email address (must be unique)
@@ -52,28 +69,34 @@ public class UserService implements UserDetailsService {
      * @return The created user entity
      * @throws IllegalArgumentException if email already exists
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User register(String name, String email, String rawPassword) {
-        logger.info("Attempting to register new user with email: {}", email);
-        
-        if (userRepository.existsByEmail(email)) {
-            logger.warn("Registration failed: User with email {} already exists", email);
-            throw new IllegalArgumentException("User with email already exists");
-        }
-        
-        User user = new User();
-        user.setName(name);
-        user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(rawPassword));
-        
-        User savedUser = userRepository.save(user);
-        logger.info("Successfully registered user with email: {}", email);
-        
-        return savedUser;
+        logger.debug("Attempting to register new user with email: {}", email);
+
+        String encodedPassword = passwordEncoder.encode(rawPassword);
+
+        return transactionTemplate.execute(status -> {
+            if (userRepository.existsByEmail(email)) {
+                logger.warn("Registration failed: User with email {} already exists", email);
+                throw new IllegalArgumentException("User with email already exists");
+            }
+
+            User user = new User();
+            user.setName(name);
+            user.setEmail(email);
+            user.setPassword(encodedPassword);
+
+            User savedUser = userRepository.save(user);
+            todoChangeCounterRepository.save(new TodoChangeCounter(savedUser.getId(), 0));
+            logger.debug("Successfully registered user with email: {}", email);
+
+            return savedUser;
+        });
     }
 
     /**
-     * Find a user by email address.
+     * Find a user by email address. Served from the second-level cache when possible; not
+     * for credential checks (see {@link UserRepository#findCredentialsByEmail}).
      * 
      * @param email User's email address
      * @return Optional containing the user if found, empty otherwise
@@ -105,23 +128,26 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Update user password.
+     * Update user password. Hashed before the transaction, like {@link #register}.
      * 
      * @param userId User's ID
      * @param newPassword New plain text password
      * @return Updated user entity
      * @throws UsernameNotFoundException if user not found
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User updatePassword(Long userId, String newPassword) {
         logger.info("Updating password for user ID: {}", userId);
-        
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with ID: " + userId));
-        
-        user.setPassword(passwordEncoder.encode(newPassword));
-        User updatedUser = userRepository.save(user);
-        
+
+        String encodedPassword = passwordEncoder.encode(newPassword);
+
+        User updatedUser = transactionTemplate.execute(status -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with ID: " + userId));
+            user.setPassword(encodedPassword);
+            return userRepository.save(user);
+        });
+
         logger.info("Password updated successfully for user ID: {}", userId);
         return updatedUser;
     }
@@ -151,6 +177,7 @@ public class UserService implements UserDetailsService {
     /**
      * Load user-specific data for Spring Security authentication.
      * This method is called by Spring Security during the authentication process.
+     * The password hash is always read from the database.
      * 
      * @param username The username identifying the user (email in our case)
      * @return A fully populated UserDetails object
@@ -160,38 +187,40 @@ public class UserService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.debug("Loading user by username (email): {}", username);
         
-        User user = userRepository.findByEmail(username)
+        UserCredentials credentials = userRepository.findCredentialsByEmail(username)
                 .orElseThrow(() -> {
                     logger.error("User not found with email: {}", username);
                     return new UsernameNotFoundException("User not found: " + username);
                 });
 
-        // Grant authorities (roles) to the user
-        Collection<GrantedAuthority> authorities = getAuthorities(user);
+        AuthenticatedUser principal = new AuthenticatedUser(credentials.id(), credentials.email(),
+                credentials.password(), getAuthorities(credentials.id()));
 
         logger.debug("User '{}' loaded successfully with {} authorities", 
-                   username, authorities.size());
-
-        // Return Spring Security UserDetails
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                true, // enabled
-                true, // accountNonExpired
-                true, // credentialsNonExpired
-                true, // accountNonLocked
-                authorities
-        );
+                   username, principal.getAuthorities().size());
+
+        return principal;
+    }
+
+    /**
+     * Build the security principal for a user, including the password hash.
+     * Used for login and to issue a token right after registration.
+     * 
+     * @param user The user entity
+     * @return Principal carrying the user's ID, email and authorities
+     */
+    public AuthenticatedUser toPrincipal(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(), getAuthorities(user.getId()));
     }
 
     /**
      * Get authorities (roles) for a user.
      * Override this method to implement role-based access control.
      * 
-     * @param user The user entity
+     * @param userId The user's ID
      * @return Collection of granted authorities
      */
-    private Collection<GrantedAuthority> getAuthorities(User user) {
+    private Collection<GrantedAuthority> getAuthorities(Long userId) {
         // Default role for all users
         // In the future, you can extend this to fetch roles from database
         return List.of(new SimpleGrantedAuthority("ROLE_USER"));
@@ -208,11 +237,10 @@ public class UserService implements UserDetailsService {
     public boolean validatePassword(String email, String rawPassword) {
         logger.debug("Validating password for user: {}", email);
         
-        Optional<User> userOptional = userRepository.findByEmail(email);
+        Optional<UserCredentials> credentials = userRepository.findCredentialsByEmail(email);
         
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            boolean matches = passwordEncoder.matches(rawPassword, user.getPassword());
+        if (credentials.isPresent()) {
+            boolean matches = passwordEncoder.matches(rawPassword, credentials.get().password());
             logger.debug("Password validation result for {}: {}", email, matches);
             return matches;
         }
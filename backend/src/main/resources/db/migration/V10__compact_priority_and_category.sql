@@ -0,0 +1,43 @@
+-- Flyway migration: compact storage for priority and category
+-- priority VARCHAR(16) ('LOW'/'MEDIUM'/'HIGH') becomes a SMALLINT code that grows with
+-- urgency (1 = LOW, 2 = MEDIUM, 3 = HIGH; see Priority). category VARCHAR(64), repeated
+-- in every row, becomes a reference into a per-user dictionary (todo_categories).
+-- The standalone priority and category indexes go away: every query is scoped to one user,
+-- so they were never the better plan; category filters use (user_id, category_id).
+-- todo_stat_counters keep the names; they hold a handful of rows per user.
+
+CREATE TABLE IF NOT EXISTS todo_categories (
+    category_id SERIAL PRIMARY KEY,
+    user_id INTEGER NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    name VARCHAR(64) NOT NULL,
+    CONSTRAINT uk_todo_categories_user_name UNIQUE (user_id, name)
+);
+
+-- Blank categories were already counted as "no category"
+INSERT INTO todo_categories (user_id, name)
+SELECT DISTINCT user_id, category
+FROM todos
+WHERE category IS NOT NULL AND btrim(category) <> ''
+ON CONFLICT (user_id, name) DO NOTHING;
+
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS category_id INTEGER REFERENCES todo_categories(category_id);
+
+UPDATE todos t
+SET category_id = c.category_id
+FROM todo_categories c
+WHERE c.user_id = t.user_id AND c.name = t.category;
+
+DROP INDEX IF EXISTS idx_todos_category;
+DROP INDEX IF EXISTS idx_todos_priority;
+ALTER TABLE todos DROP COLUMN category;
+
+-- Changing the type rewrites the table (and rebuilds its indexes), which also reclaims the
+-- dropped category column and the row versions left by the UPDATE above
+ALTER TABLE todos ALTER COLUMN priority DROP DEFAULT;
+ALTER TABLE todos ALTER COLUMN priority TYPE SMALLINT USING
+    CASE upper(priority) WHEN 'LOW' THEN 1 WHEN 'HIGH' THEN 3 ELSE 2 END;
+ALTER TABLE todos ALTER COLUMN priority SET DEFAULT 2;
+ALTER TABLE todos ADD CONSTRAINT ck_todos_priority CHECK (priority BETWEEN 1 AND 3);
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_category
+    ON todos(user_id, category_id);
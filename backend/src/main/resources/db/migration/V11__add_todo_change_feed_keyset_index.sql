@@ -0,0 +1,9 @@
+-- Flyway migration: keyset index for GET /api/todos/changes
+-- The feed pages through (change_seq, id) and may stop inside one change_seq (every row
+-- from before V8 has 0; a batch stamps up to 1000 rows with the same value). With id in
+-- the index a page is a range scan in feed order, however many rows share a version.
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_change_seq_id
+    ON todos(user_id, change_seq, id);
+
+DROP INDEX IF EXISTS idx_todos_user_change_seq;
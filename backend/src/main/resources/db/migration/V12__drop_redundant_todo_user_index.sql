@@ -0,0 +1,10 @@
+-- Flyway migration: drop the single-column user_id index from V1
+-- Every (user_id, ...) composite index (V2, V3, V10, V11) starts with user_id and serves
+-- a lookup by owner alone, so idx_todos_user_id only costs space and write time.
+-- Which index answers a list request:
+--   user_id [+ completed [+ priority]]    idx_todos_user_completed_priority_created
+--   user_id + priority (no completed)     same index, user_id prefix only; priority is a filter
+--   user_id + category [+ ...]            idx_todos_user_category
+--   user_id, newest first (keyset pages)  idx_todos_user_created_id
+
+DROP INDEX IF EXISTS idx_todos_user_id;
@@ -0,0 +1,21 @@
+-- Flyway migration: recount todo_stat_counters with the keys the application uses
+-- V7 keyed the backfill on coalesce(category, ''), so a blank but non-empty category ('  ')
+-- got a counter of its own, while TodoStatCounter.Key counts every blank category as ''
+-- (no category). Writes to those todos then moved the '' counter and left the V7 one
+-- behind. Priorities are spelled out from the V10 codes as Priority.name() does.
+-- Todo writes update the counters in the same transaction, so they are held off until
+-- the recount commits; reads go on.
+
+LOCK TABLE todos IN SHARE MODE;
+
+DELETE FROM todo_stat_counters;
+
+INSERT INTO todo_stat_counters (user_id, completed, priority, category, todo_count)
+SELECT t.user_id,
+       t.completed,
+       CASE t.priority WHEN 1 THEN 'LOW' WHEN 3 THEN 'HIGH' ELSE 'MEDIUM' END,
+       CASE WHEN nullif(trim(c.name), '') IS NULL THEN '' ELSE c.name END,
+       count(*)
+FROM todos t
+LEFT JOIN todo_categories c ON c.category_id = t.category_id
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,16 @@
+-- Flyway migration: priority/category columns and the todo list index
+-- The priority/category columns were previously only added by db/add_priority_category.sql;
+-- they are created here (if missing) so that Flyway-managed databases match the entity.
+
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS priority VARCHAR(16) NOT NULL DEFAULT 'MEDIUM';
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS category VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_todos_priority ON todos(priority);
+CREATE INDEX IF NOT EXISTS idx_todos_category ON todos(category);
+
+-- GET /api/todos always filters by user_id and optionally by completed/priority. This
+-- index covers user_id alone, user_id + completed and user_id + completed + priority;
+-- a priority filter without completed only uses its user_id prefix, and category filters
+-- are served by idx_todos_category.
+CREATE INDEX IF NOT EXISTS idx_todos_user_completed_priority_created
+    ON todos(user_id, completed, priority, created_at);
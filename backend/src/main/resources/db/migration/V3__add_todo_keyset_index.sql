@@ -0,0 +1,6 @@
+-- Flyway migration: index for keyset pagination of GET /api/todos
+-- Matches the list order (created_at DESC, id DESC) within a single user so that
+-- fetching any page is an index range scan, independent of page depth.
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_created_id
+    ON todos(user_id, created_at DESC, id DESC);
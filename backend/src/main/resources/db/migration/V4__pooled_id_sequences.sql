@@ -0,0 +1,8 @@
+-- Flyway migration: pooled id sequences for JDBC batching
+-- Todo and User ids are now assigned by Hibernate's pooled optimizer (allocationSize = 50)
+-- instead of IDENTITY, which lets inserts be batched. The sequence increment must equal
+-- the allocation size. Values already handed out stay below the next block, so existing
+-- ids cannot collide with new ones.
+
+ALTER SEQUENCE todos_id_seq INCREMENT BY 50;
+ALTER SEQUENCE users_user_id_seq INCREMENT BY 50;
@@ -0,0 +1,12 @@
+-- Flyway migration: per-user todo change counter
+-- Bumped in the same transaction as every todo write; drives ETags on GET /api/todos.
+-- Kept out of the users table so list writes never contend with (or invalidate) user rows.
+
+CREATE TABLE IF NOT EXISTS todo_change_counters (
+    user_id INTEGER PRIMARY KEY REFERENCES users(user_id) ON DELETE CASCADE,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO todo_change_counters (user_id, version)
+SELECT user_id, 0 FROM users
+ON CONFLICT (user_id) DO NOTHING;
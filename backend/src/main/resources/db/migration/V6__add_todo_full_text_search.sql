@@ -0,0 +1,13 @@
+-- Flyway migration: full-text search over todo titles and descriptions
+-- search_vector is maintained by Postgres on every insert/update (title weighted above
+-- description) and indexed with GIN, so GET /api/todos/search never scans the table.
+
+ALTER TABLE todos
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_todos_search_vector
+    ON todos USING GIN (search_vector);
@@ -0,0 +1,19 @@
+-- Flyway migration: per-user todo counts for GET /api/todos/stats
+-- One row per (user, completed, priority, category) combination that occurs, maintained
+-- in the same transaction as every todo write. Reading a user's stats touches only these
+-- few rows, however many todos the user has. category '' stands for "no category".
+
+CREATE TABLE IF NOT EXISTS todo_stat_counters (
+    user_id INTEGER NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    completed BOOLEAN NOT NULL,
+    priority VARCHAR(16) NOT NULL,
+    category VARCHAR(64) NOT NULL DEFAULT '',
+    todo_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, completed, priority, category)
+);
+
+INSERT INTO todo_stat_counters (user_id, completed, priority, category, todo_count)
+SELECT user_id, completed, priority, coalesce(category, ''), count(*)
+FROM todos
+GROUP BY user_id, completed, priority, coalesce(category, '')
+ON CONFLICT (user_id, completed, priority, category) DO NOTHING;
@@ -0,0 +1,22 @@
+-- Flyway migration: incremental sync feed for GET /api/todos/changes
+-- change_seq is the user's change version (todo_change_counters) at the todo's last
+-- create/update; deletes leave a tombstone with the version of the delete. Versions are
+-- handed out under the counter row lock, so they are gap-free per user and commit in order.
+-- Rows that predate this migration get 0 and are only returned by a full sync.
+
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS change_seq BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_todos_user_change_seq
+    ON todos(user_id, change_seq);
+
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    todo_id BIGINT PRIMARY KEY,
+    user_id INTEGER NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_user_change_seq
+    ON todo_tombstones(user_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_todo_tombstones_deleted_at
+    ON todo_tombstones(deleted_at);
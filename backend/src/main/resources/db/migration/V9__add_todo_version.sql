@@ -0,0 +1,5 @@
+-- Flyway migration: optimistic locking for todos
+-- version is bumped by every update; PATCH/PUT/DELETE may send the version the client last
+-- saw and are rejected with 409 when the row has moved on since.
+
+ALTER TABLE todos ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,127 @@
+package com.todoapp.backend;
+
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.security.JwtUtil;
+import com.todoapp.backend.service.UserService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives the todo and auth endpoints concurrently from virtual threads while JFR records
+ * {@code jdk.VirtualThreadPinned}, and fails if any of our code (or a library on the
+ * request path) parks a virtual thread while holding a monitor.
+ *
+ * <p>Pins inside H2 are ignored: the in-memory test database synchronizes internally,
+ * the Postgres driver used in production does not.</p>
+ */
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class VirtualThreadPinningTest {
+
+    private static final int USERS = 8;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void requestPathsDoNotPinVirtualThreads() throws Exception {
+        List<String> pins = new CopyOnWriteArrayList<>();
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                if (!isTestDatabase(event)) {
+                    pins.add(describe(event));
+                }
+            });
+            recording.startAsync();
+
+            try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < USERS; i++) {
+                    futures.add(virtualThreads.submit(() -> {
+                        exerciseEndpoints();
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+
+            // Flush buffered events before stopping
+            recording.stop();
+        }
+
+        assertTrue(pins.isEmpty(), "virtual threads were pinned:\n" + String.join("\n\n", pins));
+    }
+
+    private void exerciseEndpoints() throws Exception {
+        String email = "vt-" + UUID.randomUUID() + "@example.com";
+        User user = userService.register("virtual", email, "Password!23");
+        String auth = "Bearer " + jwtUtil.generateToken(userService.toPrincipal(user));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"Password!23\"}"))
+                .andExpect(status().isOk());
+
+        for (int round = 0; round < ROUNDS; round++) {
+            mockMvc.perform(post("/api/todos")
+                            .header("Authorization", auth)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"vt " + round + "\",\"priority\":\"LOW\"}"))
+                    .andExpect(status().isCreated());
+            mockMvc.perform(get("/api/todos").header("Authorization", auth))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/todos").param("limit", "5").header("Authorization", auth))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private static boolean isTestDatabase(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().startsWith("org.h2."));
+    }
+
+    private static String describe(RecordedEvent event) {
+        StringBuilder sb = new StringBuilder("pinned for " + event.getDuration().toMillis() + " ms");
+        if (event.getStackTrace() != null) {
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                sb.append("\n    at ").append(frame.getMethod().getType().getName())
+                        .append('.').append(frame.getMethod().getName());
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.todoapp.backend.config;
+
+import com.todoapp.backend.config.ReplicaRoutingDataSource.ReadRoute;
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.security.JwtUtil;
+import com.todoapp.backend.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The application with a replica configured. Both pools point at the same in-memory H2
+ * database (Hibernate creates the schema through the primary only), so requests work
+ * either way and the router's counters show where they went.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingtest;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:routingtest;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.read-your-writes-window=1m",
+        "app.todo-cache.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DataSourceRoutingConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource router;
+
+    @Test
+    void applicationDataSourceRoutesBetweenTwoPools() {
+        assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+        assertEquals("replica", replicaDataSource.getPoolName());
+        assertTrue(replicaDataSource.isReadOnly());
+    }
+
+    @Test
+    void listsReadTheReplicaExceptRightAfterTheUsersOwnWrite() throws Exception {
+        String writer = tokenFor("writer");
+        String reader = tokenFor("reader");
+
+        mockMvc.perform(post("/api/todos").header("Authorization", "Bearer " + writer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"fresh\",\"priority\":\"HIGH\"}"))
+                .andExpect(status().isCreated());
+
+        long recentWrite = router.getReadCount(ReadRoute.RECENT_WRITE);
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + writer))
+                .andExpect(status().isOk());
+        assertTrue(router.getReadCount(ReadRoute.RECENT_WRITE) > recentWrite, "writer reads the primary");
+
+        long replicaReads = router.getReadCount(ReadRoute.REPLICA);
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + reader))
+                .andExpect(status().isOk());
+        assertTrue(router.getReadCount(ReadRoute.REPLICA) > replicaReads, "other users read the replica");
+    }
+
+    private String tokenFor(String name) {
+        User user = userService.register(name, name + "-" + UUID.randomUUID() + "@example.com", "Password!23");
+        return jwtUtil.generateToken(userService.toPrincipal(user));
+    }
+}
@@ -0,0 +1,89 @@
+package com.todoapp.backend.config;
+
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.security.JwtUtil;
+import com.todoapp.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Scrapes /actuator/prometheus after an authenticated list request and checks the
+ * request, JWT, BCrypt, Hikari, Hibernate and cache meters (including the User
+ * second-level cache hit ratio) are all exported. Only the scrape user may read them.
+ */
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "management.metrics.distribution.slo.http.server.requests=100ms,250ms",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.metrics.scrape-username=prometheus",
+        "app.metrics.scrape-password=scrape-secret"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void prometheusEndpointExportsApplicationMeters() throws Exception {
+        User user = userService.register("metrics", "metrics-" + UUID.randomUUID() + "@example.com", "Password!23");
+        String token = jwtUtil.generateToken(userService.toPrincipal(user));
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith("http_server_requests_seconds_bucket{")
+                && line.contains("handler=\"TodoController#getAllTodos\"")
+                && line.contains("outcome=\"SUCCESS\"")
+                && line.contains("le=\"0.25\"")), "list request histogram with handler/outcome tags and SLO bucket");
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith("jwt_validation_seconds_count{")
+                && line.contains("result=\"valid\"")), "jwt validation timer");
+        assertTrue(scrape.contains("password_hash_seconds_count"), "BCrypt timer");
+        assertTrue(scrape.contains("password_hash_queue_depth"), "BCrypt queue depth");
+        assertTrue(scrape.contains("hikaricp_connections_pending"), "Hikari saturation");
+        assertTrue(scrape.contains("hibernate_statements_total"), "Hibernate statistics");
+        assertTrue(scrape.contains("cache_gets_total{cache=\"todo.list\""), "todo list cache");
+        assertTrue(scrape.contains("hibernate_second_level_cache_hit_ratio{") && scrape.contains("region=\"users-by-email\""),
+                "user cache hit ratio");
+    }
+
+    @Test
+    void prometheusEndpointRequiresTheScrapeCredentials() throws Exception {
+        User user = userService.register("metrics", "metrics-" + UUID.randomUUID() + "@example.com", "Password!23");
+        String token = jwtUtil.generateToken(userService.toPrincipal(user));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+        // A signed-in app user is not a scraper
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,157 @@
+package com.todoapp.backend.config;
+
+import com.todoapp.backend.config.ReplicaRoutingDataSource.ReadRoute;
+import com.todoapp.backend.security.AuthenticatedUser;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two H2 databases that each know their own name stand in for the primary and the
+ * replica; every read reports which one answered it.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private FailingDataSource replica;
+    private ReplicaRoutingDataSource router;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    /** Throws on getConnection while the replica is "down". */
+    private static class FailingDataSource extends DelegatingDataSource {
+        volatile boolean down;
+
+        FailingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        replica = new FailingDataSource(database("replica"));
+        router = new ReplicaRoutingDataSource(database("primary"), replica, Duration.ofSeconds(5), clock::get);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsOfSignedInUsersReadTheReplica() {
+        signIn(1L);
+
+        assertEquals("replica", readOnly.execute(status -> server()));
+        assertEquals("primary", readWrite.execute(status -> server()));
+        // Outside a transaction nothing says the statement only reads
+        assertEquals("primary", server());
+    }
+
+    @Test
+    void readsWithoutAUserUseThePrimary() {
+        assertEquals("primary", readOnly.execute(status -> server()));
+        assertEquals(1, router.getReadCount(ReadRoute.NO_USER));
+    }
+
+    @Test
+    void ownWritesAreReadFromThePrimaryWithinTheWindow() {
+        signIn(1L);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE server SET writes = writes + 1"));
+
+        assertEquals("primary", readOnly.execute(status -> server()));
+        signIn(2L);
+        assertEquals("replica", readOnly.execute(status -> server()));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        signIn(1L);
+        assertEquals("replica", readOnly.execute(status -> server()));
+        assertEquals(1, router.getReadCount(ReadRoute.RECENT_WRITE));
+        assertEquals(2, router.getReadCount(ReadRoute.REPLICA));
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinTheUser() {
+        signIn(1L);
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE server SET writes = writes + 1");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnly.execute(status -> server()));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimaryUntilTheHealthCheckPasses() {
+        signIn(1L);
+        replica.down = true;
+
+        assertEquals("primary", readOnly.execute(status -> server()));
+        assertFalse(router.isReplicaUp());
+
+        // Back, but not used before the health check has seen it
+        replica.down = false;
+        assertEquals("primary", readOnly.execute(status -> server()));
+        router.checkReplica();
+        assertTrue(router.isReplicaUp());
+        assertEquals("replica", readOnly.execute(status -> server()));
+
+        replica.down = true;
+        router.checkReplica();
+        assertFalse(router.isReplicaUp());
+        assertEquals(2, router.getReadCount(ReadRoute.REPLICA_DOWN));
+        assertEquals(1, router.getReadCount(ReadRoute.REPLICA));
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("SELECT name FROM server", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE server (name VARCHAR(16), writes INT)");
+        jdbc.update("INSERT INTO server VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    private static void signIn(Long userId) {
+        AuthenticatedUser user = AuthenticatedUser.fromClaims(userId, "user" + userId + "@example.com", List.of("ROLE_USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
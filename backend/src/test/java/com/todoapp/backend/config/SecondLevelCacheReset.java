@@ -0,0 +1,20 @@
+package com.todoapp.backend.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+
+/**
+ * Empties the second-level cache whenever a test context builds its session factory.
+ *
+ * <p>All test contexts use the same in-memory database and the same JCache manager (one per
+ * configuration URI), so they share the regions of {@code hibernate-jcache.conf}. Each new
+ * context recreates the schema, which reuses ids that older contexts may have cached.
+ * Registered in src/test/resources/application.properties.</p>
+ */
+public class SecondLevelCacheReset implements SessionFactoryObserver {
+
+    @Override
+    public void sessionFactoryCreated(SessionFactory factory) {
+        factory.getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,143 @@
+package com.todoapp.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.todoapp.backend.dto.request.TodoRequestDTO;
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.security.JwtUtil;
+import com.todoapp.backend.service.TodoService;
+import com.todoapp.backend.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GET /api/todos through the real server: the body format follows Accept, JSON stays the
+ * default, and large bodies are gzipped when the client allows it (Tomcat does the
+ * compression, so MockMvc cannot show it).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class TodoContentNegotiationTest {
+
+    private static final int TODOS = 40;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = userService.register("formats", "formats-" + UUID.randomUUID() + "@example.com", "Password!23");
+        token = jwtUtil.generateToken(userService.toPrincipal(user));
+        for (int i = 0; i < TODOS; i++) {
+            TodoRequestDTO dto = new TodoRequestDTO();
+            dto.setTitle("todo " + i);
+            dto.setDescription("enough text to make the list worth compressing " + i);
+            dto.setPriority(i % 2 == 0 ? "HIGH" : "LOW");
+            dto.setCategory("work");
+            todoService.create(user, dto);
+        }
+    }
+
+    @Test
+    void jsonIsTheDefault() throws Exception {
+        HttpResponse<byte[]> response = list("*/*", null);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(contentType(response).startsWith("application/json"), contentType(response));
+        assertEquals(TODOS, new ObjectMapper().readTree(response.body()).get("data").size());
+    }
+
+    @Test
+    void cborAndSmileCarryTheSameBody() throws Exception {
+        JsonNode json = new ObjectMapper().readTree(list("application/json", null).body());
+
+        HttpResponse<byte[]> cbor = list("application/cbor", null);
+        assertEquals("application/cbor", contentType(cbor));
+        JsonNode fromCbor = new ObjectMapper(new CBORFactory()).readTree(cbor.body());
+
+        HttpResponse<byte[]> smile = list("application/x-jackson-smile", null);
+        assertEquals("application/x-jackson-smile", contentType(smile));
+        JsonNode fromSmile = new ObjectMapper(new SmileFactory()).readTree(smile.body());
+
+        assertEquals(json, fromCbor);
+        assertEquals(json, fromSmile);
+        assertTrue(cbor.body().length < list("application/json", null).body().length);
+        assertTrue(cbor.headers().allValues("Vary").stream().anyMatch(v -> v.toLowerCase().contains("accept")));
+    }
+
+    @Test
+    void largeBodiesAreGzippedWhenAccepted() throws Exception {
+        byte[] plain = list("application/json", null).body();
+        HttpResponse<byte[]> gzipped = list("application/json", "gzip");
+
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(gzipped.body().length < plain.length / 2,
+                gzipped.body().length + " gzipped vs " + plain.length + " plain");
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+        // A weak ETag, so the compressed body still revalidates
+        assertTrue(gzipped.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+    }
+
+    @Test
+    void smallBodiesAreNotCompressed() throws Exception {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/todos?limit=1"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept-Encoding", "gzip")
+                .build());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().length < 1024);
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals(String.valueOf(response.body().length), response.headers().firstValue("Content-Length").orElse(null));
+    }
+
+    private HttpResponse<byte[]> list(String accept, String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/todos"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", accept);
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return send(request.build());
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String contentType(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Type").orElse("");
+    }
+}
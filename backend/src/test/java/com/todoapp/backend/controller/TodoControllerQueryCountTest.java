@@ -0,0 +1,319 @@
+package com.todoapp.backend.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.todoapp.backend.model.Todo;
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.security.JwtUtil;
+import com.todoapp.backend.service.TodoListCache;
+import com.todoapp.backend.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements behind authenticated todo requests. The principal is rebuilt
+ * from the JWT claims, so no request should read the users table, and repeated list
+ * requests are answered from the per-user list cache. Every list request reads the
+ * user's change version first; a matching If-None-Match stops there with a 304. PATCH
+ * and DELETE are owner-scoped statements that never load the todo.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TodoControllerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TodoListCache todoListCache;
+
+    private Statistics stats;
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String email = "count-" + UUID.randomUUID() + "@example.com";
+        user = userService.register("counter", email, "Password!23");
+        token = jwtUtil.generateToken(userService.toPrincipal(user));
+    }
+
+    @Test
+    void listTodosRunsOnlyTheTodoQuery() throws Exception {
+        stats.clear();
+
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertEquals(2, stats.getPrepareStatementCount(), "only the version and todos SELECTs should run");
+        assertEquals(0, userLoads());
+    }
+
+    @Test
+    void createTodoDoesNotLoadTheUser() throws Exception {
+        stats.clear();
+
+        mockMvc.perform(post("/api/todos")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"count me\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isCreated());
+
+        // Sequence call (at most once per 50 ids), the INSERT, the version bump and read, and the
+        // stat counter update (plus its INSERT the first time a priority/category combination is used)
+        assertTrue(stats.getPrepareStatementCount() <= 6, "statements: " + stats.getPrepareStatementCount());
+        assertEquals(0, userLoads());
+    }
+
+    @Test
+    void repeatedListsAreServedFromCacheUntilAWrite() throws Exception {
+        createTodo("{\"title\":\"cached\",\"priority\":\"HIGH\"}");
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        long hitsBefore = todoListCache.stats().hitCount();
+        stats.clear();
+        mockMvc.perform(get("/api/todos").param("priority", "HIGH").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1));
+        mockMvc.perform(get("/api/todos").param("priority", "LOW").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(0));
+        assertEquals(2, stats.getPrepareStatementCount(), "filtered lists should only read the version");
+        assertEquals(hitsBefore + 2, todoListCache.stats().hitCount());
+
+        createTodo("{\"title\":\"fresh\",\"priority\":\"LOW\"}");
+        mockMvc.perform(get("/api/todos").param("priority", "LOW").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].title").value("fresh"));
+    }
+
+    @Test
+    void tokensWithoutUserIdClaimStillAuthenticate() throws Exception {
+        String legacyToken = jwtUtil.generateToken(user.getEmail());
+        stats.clear();
+
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + legacyToken))
+                .andExpect(status().isOk());
+
+        // Falls back to one users lookup in the filter
+        assertEquals(3, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void matchingETagReturnsNotModifiedWithoutReadingTodos() throws Exception {
+        createTodo("{\"title\":\"etag\",\"priority\":\"MEDIUM\"}");
+        String etag = mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/\""), "ETag should be weak (body varies by format and compression): " + etag);
+
+        stats.clear();
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        assertEquals(1, stats.getPrepareStatementCount(), "only the version SELECT should run");
+        assertEquals(0, stats.getEntityStatistics(Todo.class.getName()).getLoadCount());
+
+        // Other query parameters describe a different body
+        mockMvc.perform(get("/api/todos").param("completed", "true")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        createTodo("{\"title\":\"newer\",\"priority\":\"LOW\"}");
+        mockMvc.perform(get("/api/todos")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    void patchRunsOneOwnerScopedUpdateWithoutLoadingTheTodo() throws Exception {
+        long id = createTodoReturningId("{\"title\":\"patch me\",\"priority\":\"LOW\"}");
+        stats.clear();
+
+        mockMvc.perform(patch("/api/todos/" + id)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"patched\",\"version\":0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(1));
+
+        // The version bump (which returns the new version), then the UPDATE itself
+        assertEquals(2, stats.getPrepareStatementCount(), "statements: " + stats.getPrepareStatementCount());
+        assertEquals(0, stats.getEntityStatistics(Todo.class.getName()).getLoadCount());
+        assertEquals(0, userLoads());
+
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$.data[0].title").value("patched"))
+                .andExpect(jsonPath("$.data[0].version").value(1));
+    }
+
+    @Test
+    void deleteRunsOneOwnerScopedDeleteWithoutReadingTheTodo() throws Exception {
+        long first = createTodoReturningId("{\"title\":\"delete me\",\"priority\":\"HIGH\",\"category\":\"work\"}");
+        long second = createTodoReturningId("{\"title\":\"delete me too\",\"priority\":\"LOW\"}");
+
+        // With and without the version the client last saw
+        for (MockHttpServletRequestBuilder request : List.of(
+                delete("/api/todos/" + first),
+                delete("/api/todos/" + second).param("version", "0"))) {
+            stats.clear();
+            mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+
+            // Version bump, DELETE returning the stat columns, tombstone INSERT, stat counter UPDATE
+            assertEquals(4, stats.getPrepareStatementCount(), "statements: " + stats.getPrepareStatementCount());
+            assertEquals(0, stats.getEntityStatistics(Todo.class.getName()).getLoadCount());
+        }
+
+        mockMvc.perform(get("/api/todos/stats").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(0));
+    }
+
+    @Test
+    void staleVersionIsRejectedWithConflict() throws Exception {
+        long id = createTodoReturningId("{\"title\":\"contended\",\"priority\":\"LOW\"}");
+        patchTodo(id, "{\"completed\":true,\"version\":0}").andExpect(status().isOk());
+
+        // A second device still holding version 0
+        patchTodo(id, "{\"title\":\"lost update\",\"version\":0}").andExpect(status().isConflict());
+        mockMvc.perform(put("/api/todos/" + id)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"lost update\",\"version\":0}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(delete("/api/todos/" + id).param("version", "0")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isConflict());
+
+        patchTodo(id, "{\"version\":0}").andExpect(status().isConflict());
+        patchTodo(id, "{\"title\":\"no version\"}").andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/todos/" + id).param("version", "1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void otherUsersTodosAreNotFound() throws Exception {
+        long id = createTodoReturningId("{\"title\":\"private\",\"priority\":\"HIGH\"}");
+        User intruder = userService.register("intruder", "intruder-" + UUID.randomUUID() + "@example.com", "Password!23");
+        String intruderToken = jwtUtil.generateToken(userService.toPrincipal(intruder));
+
+        mockMvc.perform(patch("/api/todos/" + id)
+                        .header("Authorization", "Bearer " + intruderToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"mine now\",\"version\":0}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/todos/" + id).header("Authorization", "Bearer " + intruderToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/todos/" + Long.MAX_VALUE).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$.data[0].title").value("private"));
+    }
+
+    @Test
+    void unknownPriorityIsRejectedBeforeAnyWrite() throws Exception {
+        stats.clear();
+
+        mockMvc.perform(post("/api/todos")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"bad\",\"priority\":\"URGENT\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/todos").param("priority", "URGENT").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void loginIssuesTokenWithUserIdAndRoles() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + user.getEmail() + "\",\"password\":\"Password!23\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String issued = body.replaceAll(".*\"accessToken\":\"([^\"]+)\".*", "$1");
+        assertEquals(user.getId(), ((Number) jwtUtil.getClaim(issued, JwtUtil.CLAIM_USER_ID)).longValue());
+        assertEquals(List.of("ROLE_USER"), jwtUtil.getClaim(issued, JwtUtil.CLAIM_ROLES));
+    }
+
+    private void createTodo(String json) throws Exception {
+        mockMvc.perform(post("/api/todos")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated());
+    }
+
+    private long createTodoReturningId(String json) throws Exception {
+        String body = mockMvc.perform(post("/api/todos")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.data.id")).longValue();
+    }
+
+    private ResultActions patchTodo(long id, String json) throws Exception {
+        return mockMvc.perform(patch("/api/todos/" + id)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json));
+    }
+
+    private long userLoads() {
+        return stats.getEntityStatistics(User.class.getName()).getLoadCount()
+                + stats.getEntityStatistics(User.class.getName()).getFetchCount();
+    }
+}
@@ -0,0 +1,168 @@
+package com.todoapp.backend.controller;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+import com.todoapp.backend.dto.request.TodoRequestDTO;
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.security.JwtUtil;
+import com.todoapp.backend.service.TodoService;
+import com.todoapp.backend.service.TodoStreamService;
+import com.todoapp.backend.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Opens up to 10,000 idle GET /api/todos/stream connections against the real server and
+ * checks they are cheap: no thread per connection and a bounded heap cost each, and that
+ * a single write still reaches every one of them.
+ *
+ * <p>Client and server sockets live in this JVM, so the count is capped by the file
+ * descriptor limit (two descriptors per connection). Not part of the default test run:
+ * {@code ./mvnw -Pconnections test}.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.max-connections=25000",
+        "server.tomcat.accept-count=1000",
+        "server.tomcat.threads.max=50",
+        "app.stream.heartbeat=1h",
+        "app.rate-limit.enabled=false"
+})
+@ActiveProfiles("test")
+@Tag("connections")
+// Close the server (and its thousands of streams) here rather than in a JVM shutdown hook
+@DirtiesContext
+public class TodoStreamConnectionsTest {
+
+    private static final int TARGET_CONNECTIONS = 10_000;
+    private static final int OPEN_BATCH = 200;
+    // Almost all of it is Tomcat's buffers for the held request (roughly 90 KB); the
+    // stream itself (emitter, buffer, subscription) is well under 1 KB
+    private static final long MAX_HEAP_BYTES_PER_STREAM = 128 * 1024;
+    // The worker pool above, not the number of streams, bounds the thread count
+    private static final int MAX_EXTRA_THREADS = 60;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoStreamService todoStreamService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @AfterEach
+    void closeSockets() {
+        for (Socket socket : sockets) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // closing anyway
+            }
+        }
+    }
+
+    @Test
+    void idleStreamsCostNoThreadsAndAllReceiveEvents() throws Exception {
+        User user = userService.register("streamer", "stream-" + UUID.randomUUID() + "@example.com", "Password!23");
+        String token = jwtUtil.generateToken(userService.toPrincipal(user));
+        byte[] request = ("GET /api/todos/stream HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n" +
+                "Authorization: Bearer " + token + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+
+        int connections = affordableConnections();
+        // Warm up request handling so lazily created pools and caches are not counted
+        openStreams(request, 10);
+        int streamsBefore = todoStreamService.getOpenStreams();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        long heapBefore = usedHeapAfterGc();
+
+        openStreams(request, connections);
+
+        assertEquals(streamsBefore + connections, todoStreamService.getOpenStreams());
+        int extraThreads = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore;
+        long heapPerStream = (usedHeapAfterGc() - heapBefore) / connections;
+        assertTrue(extraThreads <= MAX_EXTRA_THREADS,
+                () -> connections + " idle streams added " + extraThreads + " threads");
+        assertTrue(heapPerStream <= MAX_HEAP_BYTES_PER_STREAM,
+                () -> connections + " idle streams cost " + heapPerStream + " bytes of heap each");
+
+        TodoRequestDTO dto = new TodoRequestDTO();
+        dto.setTitle("fan out");
+        todoService.create(user, dto);
+
+        for (Socket socket : sockets) {
+            assertTrue(readUntil(socket.getInputStream(), "event:created"), "stream did not get the event");
+        }
+    }
+
+    private void openStreams(byte[] request, int count) throws IOException {
+        for (int opened = 0; opened < count; opened += OPEN_BATCH) {
+            List<Socket> batch = new ArrayList<>();
+            for (int i = opened; i < Math.min(count, opened + OPEN_BATCH); i++) {
+                Socket socket = new Socket("localhost", port);
+                socket.setSoTimeout(30_000);
+                socket.getOutputStream().write(request);
+                batch.add(socket);
+            }
+            for (Socket socket : batch) {
+                assertTrue(readUntil(socket.getInputStream(), ":keep-alive"), "stream did not open");
+            }
+            sockets.addAll(batch);
+        }
+    }
+
+    // Reads byte by byte (only a few hundred bytes arrive per stream) until the marker shows up
+    private static boolean readUntil(InputStream in, String marker) throws IOException {
+        byte[] expected = marker.getBytes(StandardCharsets.US_ASCII);
+        int matched = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            matched = b == expected[matched] ? matched + 1 : (b == expected[0] ? 1 : 0);
+            if (matched == expected.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int affordableConnections() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof UnixOperatingSystemMXBean unix) {
+            long spare = unix.getMaxFileDescriptorCount() - unix.getOpenFileDescriptorCount() - 1_000;
+            return (int) Math.max(100, Math.min(TARGET_CONNECTIONS, spare / 2));
+        }
+        return TARGET_CONNECTIONS;
+    }
+
+    private static long usedHeapAfterGc() {
+        // Only run in the connections profile, where the test has the fork to itself
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
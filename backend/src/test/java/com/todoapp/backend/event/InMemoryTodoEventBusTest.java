@@ -0,0 +1,58 @@
+package com.todoapp.backend.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryTodoEventBusTest {
+
+    private static final int ROUNDS = 20_000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void subscribingWhileTheLastListenerLeavesStillReceivesEvents() throws Exception {
+        InMemoryTodoEventBus bus = new InMemoryTodoEventBus();
+        CyclicBarrier start = new CyclicBarrier(2);
+        int missed = 0;
+
+        for (long userId = 1; userId <= ROUNDS; userId++) {
+            long user = userId;
+            Runnable leaving = bus.subscribe(user, event -> { });
+            AtomicInteger received = new AtomicInteger();
+
+            // The user's only listener unsubscribes while a new stream subscribes
+            Future<?> unsubscribe = executor.submit(() -> {
+                start.await();
+                leaving.run();
+                return null;
+            });
+            Future<?> subscribe = executor.submit(() -> {
+                start.await();
+                bus.subscribe(user, event -> received.incrementAndGet());
+                return null;
+            });
+            unsubscribe.get();
+            subscribe.get();
+
+            bus.publish(new TodoEvent(TodoEvent.CREATED, user, 1L, 1L, null));
+            if (received.get() != 1) {
+                missed++;
+            }
+        }
+
+        assertEquals(0, missed, "subscribers that never got the event");
+    }
+}
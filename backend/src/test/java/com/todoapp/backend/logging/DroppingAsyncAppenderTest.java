@@ -0,0 +1,73 @@
+package com.todoapp.backend.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DroppingAsyncAppenderTest {
+
+    @Test
+    void fullQueueDropsAndCountsInsteadOfBlocking() throws Exception {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        CountDownLatch release = new CountDownLatch(1);
+        StuckAppender downstream = new StuckAppender(release);
+        downstream.setContext(context);
+        downstream.start();
+
+        DroppingAsyncAppender async = new DroppingAsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(16);
+        async.addAppender(downstream);
+        async.start();
+
+        Logger logger = context.getLogger("test");
+        logger.addAppender(async);
+        logger.setAdditive(false);
+
+        long droppedBefore = DroppingAsyncAppender.droppedEvents();
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            logger.warn("event {}", i);
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2), "logging must not block on a stuck appender");
+
+        long dropped = DroppingAsyncAppender.droppedEvents() - droppedBefore;
+        // The worker drains a whole queue's worth before blocking, so at most 2 x 16 get through
+        assertTrue(dropped >= 1000 - 2 * 16, "dropped: " + dropped);
+
+        release.countDown();
+        async.stop();
+        context.stop();
+        assertEquals(1000, dropped + downstream.received.get());
+    }
+
+    /** Appender that blocks its (async worker) caller until released. */
+    private static final class StuckAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch release;
+        private final AtomicInteger received = new AtomicInteger();
+
+        StuckAppender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            received.incrementAndGet();
+        }
+    }
+}
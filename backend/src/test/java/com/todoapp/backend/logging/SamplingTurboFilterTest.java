@@ -0,0 +1,64 @@
+package com.todoapp.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SamplingTurboFilterTest {
+
+    @Test
+    void logsOneInSampleRateAndLeavesOtherLoggersAlone() {
+        LoggerContext context = new LoggerContext();
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setLoggerName("org.hibernate.SQL");
+        filter.setSampleRate(10);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        ListAppender<ILoggingEvent> events = new ListAppender<>();
+        events.setContext(context);
+        events.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(events);
+
+        Logger sql = context.getLogger("org.hibernate.SQL");
+        sql.setLevel(Level.DEBUG);
+        Logger other = context.getLogger("com.todoapp");
+        other.setLevel(Level.DEBUG);
+
+        int formatted = 0;
+        for (int i = 0; i < 100; i++) {
+            // Guarded like Hibernate's statement logger
+            if (sql.isDebugEnabled()) {
+                formatted++;
+                sql.debug("select " + i);
+            }
+            other.debug("other {}", i);
+        }
+
+        assertEquals(10, formatted, "skipped statements should not even be formatted");
+        assertEquals(10, events.list.stream().filter(e -> e.getLoggerName().equals("org.hibernate.SQL")).count());
+        assertEquals(100, events.list.stream().filter(e -> e.getLoggerName().equals("com.todoapp")).count());
+    }
+
+    @Test
+    void disabledLevelIsNotSampled() {
+        LoggerContext context = new LoggerContext();
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setLoggerName("org.hibernate.SQL");
+        filter.setSampleRate(1);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        Logger sql = context.getLogger("org.hibernate.SQL");
+        sql.setLevel(Level.OFF);
+
+        assertFalse(sql.isDebugEnabled());
+    }
+}
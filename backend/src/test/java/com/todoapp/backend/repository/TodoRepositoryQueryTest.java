@@ -0,0 +1,236 @@
+package com.todoapp.backend.repository;
+
+import com.todoapp.backend.model.Priority;
+import com.todoapp.backend.model.Todo;
+import com.todoapp.backend.model.TodoCategory;
+import com.todoapp.backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the todo list query is scoped to the owner in SQL: the rows loaded
+ * and the execution plan must not change when other users' data grows. Plans are taken
+ * from the SQL Hibernate actually generates for the specification, captured with a
+ * {@link StatementInspector}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.todoapp.backend.repository.TodoRepositoryQueryTest$CapturingStatementInspector"
+})
+public class TodoRepositoryQueryTest {
+
+    /** Records every statement Hibernate prepares. */
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("owner@example.com");
+        other = persistUser("other@example.com");
+        TodoCategory work = new TodoCategory(owner.getId(), "work");
+        entityManager.persist(work);
+        for (int i = 0; i < 5; i++) {
+            persistTodo(owner, i < 2 ? Priority.HIGH : Priority.LOW, work, i == 0);
+        }
+        persistTodos(other, 100);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void filtersAreAppliedInTheDatabase() {
+        List<Todo> high = todoRepository.findAll(TodoSpecifications.forUser(owner.getId(), Priority.HIGH, null, null));
+        assertEquals(2, high.size());
+
+        List<Todo> done = todoRepository.findAll(TodoSpecifications.forUser(owner.getId(), null, "work", true));
+        assertEquals(1, done.size());
+
+        List<Todo> all = todoRepository.findAll(TodoSpecifications.forUser(owner.getId(), null, "", null));
+        assertEquals(5, all.size());
+    }
+
+    @Test
+    void generatedListQueryFiltersByOwnerAndFiltersWithBoundParameters() {
+        String sql = listQuerySql(TodoSpecifications.forUser(owner.getId(), Priority.HIGH, null, true), 1);
+
+        String where = sql.substring(sql.indexOf(" where ")).toLowerCase();
+        assertTrue(where.matches(".*\\buser_id=\\?.*"), "owner filter in SQL: " + sql);
+        assertTrue(where.matches(".*\\bpriority=\\?.*"), "priority filter in SQL: " + sql);
+        assertTrue(where.matches(".*\\bcompleted=\\?.*"), "completed filter in SQL: " + sql);
+        assertFalse(sql.contains(String.valueOf(owner.getId())), "user id must be bound, not inlined: " + sql);
+
+        // Parameters in the order of the WHERE clause: owner, priority code, completed.
+        // All three are equality keys of (user_id, completed, priority, created_at).
+        String plan = explain(sql, owner.getId(), Priority.HIGH.getCode(), true).toUpperCase();
+        String lookup = plan.substring(plan.indexOf("/*"), plan.indexOf("*/"));
+        assertTrue(lookup.contains("IDX_TODOS_USER_COMPLETED_PRIORITY_CREATED:"), "plan should use the list index: " + plan);
+        assertTrue(lookup.contains("USER_ID = ?1"), plan);
+        assertTrue(lookup.contains("PRIORITY = ?2"), plan);
+        assertTrue(lookup.contains("COMPLETED = ?3"), plan);
+    }
+
+    @Test
+    void rowsLoadedAndPlanStayFlatAsOtherUsersGrow() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Specification<Todo> spec = TodoSpecifications.forUser(owner.getId(), null, null, null);
+
+        stats.clear();
+        String sql = listQuerySql(spec, 5);
+        long loadedBefore = todoLoads(stats);
+        long queriesBefore = stats.getPrepareStatementCount();
+        String planBefore = explain(sql, owner.getId());
+
+        persistTodos(other, 2_000);
+        entityManager.flush();
+        entityManager.clear();
+
+        stats.clear();
+        assertEquals(sql, listQuerySql(spec, 5));
+
+        // Only the owner's todos are materialized (their categories come in the same
+        // statement); the lazy User proxy is never touched.
+        assertEquals(5, loadedBefore);
+        assertEquals(loadedBefore, todoLoads(stats));
+        assertEquals(0, stats.getEntityStatistics(User.class.getName()).getLoadCount());
+        assertEquals(queriesBefore, stats.getPrepareStatementCount());
+        assertEquals(1, stats.getPrepareStatementCount());
+
+        String planAfter = explain(sql, owner.getId());
+        assertEquals(planBefore, planAfter);
+        // With only the owner to filter on, H2 picks the index it creates for the user_id
+        // foreign key (Postgres has none and uses the (user_id, ...) indexes instead)
+        assertTrue(planAfter.toUpperCase().contains(userForeignKeyIndex() + ": USER_ID = ?1"),
+                "plan should use the user_id index: " + planAfter);
+    }
+
+    @Test
+    void keysetPagesCoverEveryRowExactlyOnce() {
+        persistTodos(owner, 18);
+        entityManager.flush();
+        entityManager.clear();
+
+        Set<Long> seen = new HashSet<>();
+        List<Long> ordered = new ArrayList<>();
+        TodoCursor cursor = null;
+        int pages = 0;
+        do {
+            Specification<Todo> spec = TodoSpecifications.forUser(owner.getId(), null, null, null);
+            if (cursor != null) {
+                // Round-trip through the opaque form, as a client would
+                spec = spec.and(TodoSpecifications.after(TodoCursor.decode(cursor.encode())));
+            }
+            List<Todo> page = todoRepository.findBy(spec, q -> q
+                    .sortBy(TodoSpecifications.KEYSET_ORDER)
+                    .limit(10)
+                    .all());
+            page.forEach(t -> {
+                assertTrue(seen.add(t.getId()), "row returned twice: " + t.getId());
+                ordered.add(t.getId());
+            });
+            cursor = page.size() == 10 ? TodoCursor.of(page.get(page.size() - 1)) : null;
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(23, seen.size());
+        assertEquals(3, pages);
+        List<Long> expected = todoRepository.findAll(
+                TodoSpecifications.forUser(owner.getId(), null, null, null), TodoSpecifications.KEYSET_ORDER)
+                .stream().map(Todo::getId).toList();
+        assertEquals(expected, ordered);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TodoCursor.decode("not-a-cursor"));
+    }
+
+    private static long todoLoads(Statistics stats) {
+        return stats.getEntityStatistics(Todo.class.getName()).getLoadCount();
+    }
+
+    /**
+     * Runs the specification through the repository and returns the one statement it issued.
+     */
+    private String listQuerySql(Specification<Todo> spec, int expectedRows) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        assertEquals(expectedRows, todoRepository.findAll(spec).size());
+        assertEquals(1, CapturingStatementInspector.STATEMENTS.size(), CapturingStatementInspector.STATEMENTS::toString);
+        return CapturingStatementInspector.STATEMENTS.get(0);
+    }
+
+    private String userForeignKeyIndex() {
+        return jdbcTemplate.queryForObject("SELECT i.INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES i " +
+                "JOIN INFORMATION_SCHEMA.INDEX_COLUMNS c ON c.INDEX_SCHEMA = i.INDEX_SCHEMA AND c.INDEX_NAME = i.INDEX_NAME " +
+                "WHERE i.TABLE_NAME = 'TODOS' AND i.INDEX_TYPE_NAME = 'INDEX' " +
+                "GROUP BY i.INDEX_NAME HAVING COUNT(*) = 1 AND MAX(c.COLUMN_NAME) = 'USER_ID'", String.class);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("secret");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void persistTodos(User user, int count) {
+        for (int i = 0; i < count; i++) {
+            persistTodo(user, Priority.MEDIUM, null, false);
+        }
+    }
+
+    private void persistTodo(User user, Priority priority, TodoCategory category, boolean completed) {
+        Todo todo = new Todo();
+        todo.setTitle("todo");
+        todo.setPriority(priority);
+        todo.setCategory(category);
+        todo.setCompleted(completed);
+        todo.setUser(user);
+        entityManager.persist(todo);
+    }
+}
@@ -0,0 +1,99 @@
+package com.todoapp.backend.security;
+
+import com.todoapp.backend.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+
+    @Test
+    void encodesAndMatchesThroughThePool() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, 1);
+        try {
+            String hash = encoder.encode("secret");
+
+            assertTrue(encoder.matches("secret", hash));
+            assertFalse(encoder.matches("other", hash));
+            assertEquals(3, encoder.getHashCount());
+            assertTrue(encoder.getTotalHashTimeNanos() >= encoder.getMaxHashTimeNanos());
+            assertEquals(0, encoder.getRejectedCount());
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void saturatedPoolRejectsImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release), 1, 1, 7);
+        ExecutorService callers = Executors.newCachedThreadPool();
+        try {
+            // One call occupies the only thread, the next one fills the queue
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"), callers);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"), callers);
+            waitForQueueDepth(encoder, 1);
+
+            long start = System.nanoTime();
+            PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "rejection should not wait");
+            assertEquals(7, ex.getRetryAfterSeconds());
+            assertEquals(1, encoder.getRejectedCount());
+            assertEquals(1, encoder.getActiveCount());
+
+            release.countDown();
+            assertEquals("hashed:a", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hashed:b", queued.get(5, TimeUnit.SECONDS));
+            assertEquals(0, encoder.getQueueDepth());
+        } finally {
+            release.countDown();
+            encoder.shutdown();
+            callers.shutdownNow();
+        }
+    }
+
+    private static void waitForQueueDepth(BoundedPasswordEncoder encoder, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.getQueueDepth() < depth) {
+            assertTrue(System.nanoTime() < deadline, "queue never reached depth " + depth);
+            Thread.sleep(5);
+        }
+    }
+
+    /** Encoder whose calls block until released, to hold the pool busy. */
+    private static final class BlockingEncoder implements PasswordEncoder {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        BlockingEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.todoapp.backend.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,4 +34,36 @@ public class JwtUtilTest {
         JwtUtil jwtUtil = new JwtUtil("", 3600000L, true);
         assertThrows(IllegalStateException.class, jwtUtil::init);
     }
+
+    @Test
+    void cachedVerification_returnsSameClaimsAndRejectsTamperedTokens() {
+        JwtUtil jwtUtil = new JwtUtil("testing_jwt_secret_must_be_long_enough_12345", 3600000L, false, true, 100);
+        jwtUtil.init();
+        String token = jwtUtil.generateToken("user1");
+
+        Claims first = jwtUtil.getClaims(token);
+        assertNotNull(first);
+        assertSame(first, jwtUtil.getClaims(token), "second lookup should be served from the cache");
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertFalse(jwtUtil.validateToken(tampered));
+        assertNull(jwtUtil.getSubject(tampered));
+    }
+
+    @Test
+    void verifiedTokenCache_isBoundedAndSkipsTokensWithoutExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        JwtUtil jwtUtil = new JwtUtil("testing_jwt_secret_must_be_long_enough_12345", 3600000L, false);
+        jwtUtil.init();
+
+        for (int i = 0; i < 100; i++) {
+            String token = jwtUtil.generateToken("user" + i);
+            cache.put(token, jwtUtil.getClaims(token));
+        }
+        assertTrue(cache.size() <= 10);
+
+        Claims noExpiry = Jwts.claims().setSubject("forever");
+        cache.put("no-exp", noExpiry);
+        assertNull(cache.get("no-exp"));
+    }
 }
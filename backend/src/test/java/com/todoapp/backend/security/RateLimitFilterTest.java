@@ -0,0 +1,105 @@
+package com.todoapp.backend.security;
+
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Budgets are tiny here so the limit is reached within a few requests; the refill rate is
+ * low enough that no token comes back while the test runs.
+ */
+@SpringBootTest(properties = {
+        "app.rate-limit.auth.capacity=2",
+        "app.rate-limit.auth.refill-per-second=0.01",
+        "app.rate-limit.api.capacity=3",
+        "app.rate-limit.api.refill-per-second=0.01"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RateLimitFilterTest {
+
+    private static final String LOGIN = "{\"email\":\"nobody@example.com\",\"password\":\"wrong\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void authRoutesAreLimitedPerClientIp() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/auth/login").with(remoteAddr("10.1.0.1"))
+                            .contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(post("/api/auth/login").with(remoteAddr("10.1.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        mockMvc.perform(post("/api/auth/login").with(remoteAddr("10.1.0.2"))
+                        .contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void apiRoutesAreLimitedPerUserNotPerIp() throws Exception {
+        String first = tokenFor("limited");
+        String second = tokenFor("other");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/todos").with(remoteAddr("10.2.0." + i)).header("Authorization", "Bearer " + first))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/todos").with(remoteAddr("10.2.0.99")).header("Authorization", "Bearer " + first))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        // Same client IP, different user: separate bucket
+        mockMvc.perform(get("/api/todos").with(remoteAddr("10.2.0.0")).header("Authorization", "Bearer " + second))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Retry-After"));
+    }
+
+    @Test
+    void routesOutsideTheApiAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/actuator/health").with(remoteAddr("10.3.0.1")))
+                    .andExpect(status().is(not(429)));
+        }
+    }
+
+    private String tokenFor(String name) {
+        User user = userService.register(name, name + "-" + UUID.randomUUID() + "@example.com", "Password!23");
+        return jwtUtil.generateToken(userService.toPrincipal(user));
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
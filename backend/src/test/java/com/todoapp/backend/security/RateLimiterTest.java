@@ -0,0 +1,127 @@
+package com.todoapp.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsTheBurstThenRejectsUntilRefill() {
+        RateLimiter limiter = new RateLimiter(3, 2, Duration.ofMinutes(1), 100, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("user:1"), "request " + i);
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire("user:1"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(499));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), limiter.tryAcquire("user:1"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("user:1"));
+        assertTrue(limiter.tryAcquire("user:1") > 0);
+
+        assertEquals(4, limiter.getAllowedCount());
+        assertEquals(3, limiter.getRejectedCount());
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        RateLimiter limiter = new RateLimiter(1, 1, Duration.ofMinutes(1), 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        assertTrue(limiter.tryAcquire("ip:10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.2"));
+    }
+
+    @Test
+    void idleBucketRefillsToCapacityOnly() {
+        RateLimiter limiter = new RateLimiter(2, 10, Duration.ofMinutes(1), 100, clock::get);
+        limiter.tryAcquire("user:1");
+        limiter.tryAcquire("user:1");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+        assertEquals(0, limiter.tryAcquire("user:1"));
+        assertEquals(0, limiter.tryAcquire("user:1"));
+        assertTrue(limiter.tryAcquire("user:1") > 0, "a long pause must not bank more than the burst");
+    }
+
+    @Test
+    void idleBucketsAreEvicted() {
+        RateLimiter limiter = new RateLimiter(5, 1, Duration.ofMinutes(1), 100, clock::get);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire("ip:10.0.0." + i);
+        }
+        assertEquals(50, limiter.size());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        limiter.tryAcquire("ip:10.0.0.0");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+        assertEquals(1, limiter.size(), "only the bucket used within the idle timeout stays");
+    }
+
+    @Test
+    void idleTimeoutNeverEvictsABucketBeforeItIsFull() {
+        // Refilling 10 tokens at 1/s takes 10s, longer than the 1s idle timeout
+        RateLimiter limiter = new RateLimiter(10, 1, Duration.ofSeconds(1), 100, clock::get);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("user:1");
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        assertEquals(1, limiter.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("user:1"));
+        }
+        assertTrue(limiter.tryAcquire("user:1") > 0);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBudget() throws Exception {
+        // Frozen clock: exactly the burst may get through, however the CAS races resolve
+        RateLimiter limiter = new RateLimiter(1000, 1, Duration.ofMinutes(1), 100, clock::get);
+        int threads = 64;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder allowed = new LongAdder();
+        try {
+            for (int t = 0; t < threads; t++) {
+                String key = "user:" + (t % 4);
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < 500; i++) {
+                        if (limiter.tryAcquire(key) == 0) {
+                            allowed.increment();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(4 * 1000, allowed.sum());
+        assertEquals(4 * 1000, limiter.getAllowedCount());
+        assertEquals(threads * 500 - 4 * 1000, limiter.getRejectedCount());
+    }
+}
@@ -0,0 +1,184 @@
+package com.todoapp.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.backend.model.Priority;
+import com.todoapp.backend.model.Todo;
+import com.todoapp.backend.model.TodoCategory;
+import com.todoapp.backend.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Embedded H2 buffers whole result sets unless LAZY_QUERY_EXECUTION is on; with it, H2
+// streams rows the way the Postgres driver does with a fetch size inside a transaction,
+// so the heap measurement reflects the exporter rather than the test database.
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:exporttest;LAZY_QUERY_EXECUTION=1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class TodoExportServiceTest {
+
+    private static final int LARGE_ACCOUNT_ROWS = 500_000;
+    private static final long HEAP_BUDGET_BYTES = 16L * 1024 * 1024;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TodoExportService exportService;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TodoExportService(dataSource, transactionManager, objectMapper, 500);
+        owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@example.com");
+        owner.setPassword("secret");
+        entityManager.persist(owner);
+    }
+
+    @Test
+    void ndjsonHasOneObjectPerLine() throws Exception {
+        persistTodo("first", "plain");
+        persistTodo("second, with \"quotes\"", "multi\nline");
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2, exportService.exportNdjson(owner.getId(), out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            assertTrue(node.hasNonNull("id"));
+            assertTrue(node.hasNonNull("createdAt"));
+            assertEquals("HIGH", node.get("priority").asText());
+        }
+    }
+
+    @Test
+    void csvQuotesSpecialCharacters() throws Exception {
+        persistTodo("second, with \"quotes\"", "multi\nline");
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(1, exportService.exportCsv(owner.getId(), out));
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,title,description,priority,category,completed,createdAt,updatedAt\r\n"));
+        assertTrue(csv.contains(",\"second, with \"\"quotes\"\"\",\"multi\nline\",HIGH,,false,"));
+    }
+
+    @Test
+    void csvNeutralizesFormulas() throws Exception {
+        TodoCategory category = new TodoCategory(owner.getId(), "@SUM(A1:A9)");
+        entityManager.persist(category);
+        persistTodo("=HYPERLINK(\"http://evil.example\",\"click\")", "+1+cmd|' /C calc'!A0");
+        Todo todo = new Todo();
+        todo.setTitle("-2+3");
+        todo.setDescription("\t=1+1");
+        todo.setPriority(Priority.LOW);
+        todo.setCategory(category);
+        todo.setUser(owner);
+        entityManager.persist(todo);
+        persistTodo("plain = text", "a-b");
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(3, exportService.exportCsv(owner.getId(), out));
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains(",\"'=HYPERLINK(\"\"http://evil.example\"\",\"\"click\"\")\",'+1+cmd|' /C calc'!A0,HIGH,,"), csv);
+        assertTrue(csv.contains(",'-2+3,'\t=1+1,LOW,'@SUM(A1:A9),"), csv);
+        assertTrue(csv.contains(",plain = text,a-b,HIGH,,"), csv);
+    }
+
+    @Test
+    void largeExportRunsInFixedHeapBudget() throws Exception {
+        TodoCategory work = new TodoCategory(owner.getId(), "work");
+        entityManager.persist(work);
+        entityManager.createNativeQuery(
+                "INSERT INTO todos (id, title, description, priority, category_id, completed, user_id, created_at, updated_at) " +
+                "SELECT NEXT VALUE FOR todos_id_seq, CONCAT('todo ', X), CONCAT('a reasonably long description for todo number ', X), " +
+                "2, ?3, FALSE, ?1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?2)")
+                .setParameter(1, owner.getId())
+                .setParameter(2, LARGE_ACCOUNT_ROWS)
+                .setParameter(3, work.getId())
+                .executeUpdate();
+
+        long baseline = usedHeapAfterGc();
+        HeapSamplingSink sink = new HeapSamplingSink(LARGE_ACCOUNT_ROWS / 2);
+
+        assertEquals(LARGE_ACCOUNT_ROWS, exportService.exportNdjson(owner.getId(), sink));
+
+        assertEquals(LARGE_ACCOUNT_ROWS, sink.lines);
+        assertTrue(sink.sampledHeap > 0, "heap should have been sampled mid-export");
+        long growth = sink.sampledHeap - baseline;
+        assertTrue(growth < HEAP_BUDGET_BYTES,
+                "export retained " + (growth / (1024 * 1024)) + " MB mid-stream, budget is "
+                        + (HEAP_BUDGET_BYTES / (1024 * 1024)) + " MB");
+    }
+
+    private void persistTodo(String title, String description) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setDescription(description);
+        todo.setPriority(Priority.HIGH);
+        todo.setUser(owner);
+        entityManager.persist(todo);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Discards the export but samples retained heap once the given line has been written,
+     * i.e. while the result set is still open.
+     */
+    private static final class HeapSamplingSink extends OutputStream {
+        private final long sampleAtLine;
+        private long lines;
+        private long sampledHeap;
+
+        HeapSamplingSink(long sampleAtLine) {
+            this.sampleAtLine = sampleAtLine;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines == sampleAtLine) {
+                sampledHeap = usedHeapAfterGc();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.todoapp.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todoapp.backend.dto.response.ApiResponseDTO;
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.model.Priority;
+import com.todoapp.backend.model.TodoCategory;
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.repository.TodoRepository;
+import com.todoapp.backend.repository.TodoSpecifications;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The streamed list body must serialize exactly like the entity/DTO path it replaces for
+ * lists too large to cache, and allocate far less doing it. LAZY_QUERY_EXECUTION keeps H2
+ * from buffering the whole result, as in TodoExportServiceTest.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:listreadertest;LAZY_QUERY_EXECUTION=1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class TodoListReaderTest {
+
+    private static final int ROWS = 20_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    // Configured like Boot's mapper: ISO-8601 dates
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private TodoListReader reader;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        reader = new TodoListReader(dataSource, transactionManager, 500);
+        owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@example.com");
+        owner.setPassword("secret");
+        entityManager.persist(owner);
+        TodoCategory work = new TodoCategory(owner.getId(), "work");
+        entityManager.persist(work);
+        // Mixed priorities, completion states and categories; created_at ties every tenth row
+        // so the id tie-breaker of the order is exercised
+        entityManager.createNativeQuery(
+                "INSERT INTO todos (id, title, description, priority, category_id, completed, user_id, created_at, updated_at) " +
+                "SELECT NEXT VALUE FOR todos_id_seq, CONCAT('todo ', X), " +
+                "CASE WHEN MOD(X, 3) = 0 THEN NULL ELSE CONCAT('a reasonably long description for todo number ', X) END, " +
+                "MOD(X, 3) + 1, CASE WHEN MOD(X, 2) = 0 THEN ?3 END, MOD(X, 4) = 0, ?1, " +
+                "DATEADD('SECOND', -(X / 10), TIMESTAMP '2025-01-01 00:00:00'), TIMESTAMP '2025-01-02 00:00:00' " +
+                "FROM SYSTEM_RANGE(1, ?2)")
+                .setParameter(1, owner.getId())
+                .setParameter(2, ROWS)
+                .setParameter(3, work.getId())
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void streamedListMatchesTheEntityPath() throws Exception {
+        assertEquals(entityPath(null, null, null), streamed(null, null, null));
+        assertEquals(entityPath(Priority.HIGH, null, null), streamed(Priority.HIGH, null, null));
+        assertEquals(entityPath(null, "work", true), streamed(null, "work", true));
+        assertEquals(entityPath(Priority.LOW, "", false), streamed(Priority.LOW, "", false));
+        assertEquals(0, streamed(null, "nope", null).get("data").size());
+    }
+
+    @Test
+    void projectionMatchesTheEntityPath() throws Exception {
+        List<TodoResponseDTO> rows = todoRepository.findListRows(owner.getId(), Limit.of(ROWS));
+
+        assertEquals(entityPath(null, null, null), tree(envelope(rows)));
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void timestampsAreWrittenLikeInstants() throws Exception {
+        for (String instant : List.of("2025-01-01T00:00:00Z", "2025-03-01T23:59:59.5Z", "2024-02-29T12:00:00.000123Z",
+                "1999-12-31T23:59:59.999999999Z", "1969-07-20T20:17:40Z", "0001-01-01T00:00:00.010Z")) {
+            Timestamp timestamp = Timestamp.from(Instant.parse(instant));
+            assertEquals(objectMapper.writeValueAsString(timestamp.toInstant()), written(timestamp));
+        }
+        assertEquals("null", written(null));
+    }
+
+    @Test
+    void streamingAllocatesAFractionOfTheEntityPath() throws Exception {
+        // Warm up both paths so class loading and JIT do not count
+        for (int i = 0; i < 3; i++) {
+            writeEntityPath();
+            writeStreamed();
+        }
+
+        long entityBytes = Long.MAX_VALUE;
+        long streamedBytes = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            entityBytes = Math.min(entityBytes, allocatedBy(this::writeEntityPath));
+            streamedBytes = Math.min(streamedBytes, allocatedBy(this::writeStreamed));
+        }
+
+        System.out.printf("%d todos: entity path %d KB, streamed %d KB%n", ROWS, entityBytes / 1024, streamedBytes / 1024);
+        assertTrue(streamedBytes * 3 < entityBytes,
+                "streamed " + streamedBytes + " bytes vs entity path " + entityBytes);
+    }
+
+    private JsonNode entityPath(Priority priority, String category, Boolean completed) {
+        List<TodoResponseDTO> dtos = todoRepository.findAll(
+                        TodoSpecifications.forUser(owner.getId(), priority, category, completed), TodoSpecifications.KEYSET_ORDER)
+                .stream()
+                .map(TodoResponseDTO::fromEntity)
+                .toList();
+        entityManager.clear();
+        return tree(envelope(dtos));
+    }
+
+    private JsonNode streamed(Priority priority, String category, Boolean completed) throws Exception {
+        return tree(envelope(reader.stream(owner.getId(), priority, category, completed)));
+    }
+
+    // Through bytes, so both sides are read back with the same number node types
+    private JsonNode tree(ApiResponseDTO response) {
+        try {
+            return objectMapper.readTree(objectMapper.writeValueAsBytes(response));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String written(Timestamp timestamp) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            TodoListReader.writeInstant(json, timestamp, new char[TodoListReader.INSTANT_LENGTH]);
+        }
+        return out.toString();
+    }
+
+    private void writeEntityPath() throws Exception {
+        List<TodoResponseDTO> dtos = todoRepository.findAll(
+                        TodoSpecifications.forUser(owner.getId(), null, null, null), TodoSpecifications.KEYSET_ORDER)
+                .stream()
+                .map(TodoResponseDTO::fromEntity)
+                .toList();
+        objectMapper.writeValue(OutputStream.nullOutputStream(), envelope(dtos));
+        entityManager.clear();
+    }
+
+    private void writeStreamed() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), envelope(reader.stream(owner.getId(), null, null, null)));
+    }
+
+    private static ApiResponseDTO envelope(Object data) {
+        return new ApiResponseDTO(200, "Todos fetched successfully", data);
+    }
+
+    private static long allocatedBy(ThrowingRunnable action) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,101 @@
+package com.todoapp.backend.service;
+
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.dto.response.TodoSearchPageDTO;
+import com.todoapp.backend.model.Priority;
+import com.todoapp.backend.model.Todo;
+import com.todoapp.backend.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Exercises the substring fallback used on H2; the Postgres tsvector path is covered by
+// scripts/bench-search.sh against a real database.
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:searchtest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class TodoSearchServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TodoSearchService searchService;
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new TodoSearchService(dataSource);
+        owner = persistUser("owner");
+        other = persistUser("other");
+    }
+
+    @Test
+    void matchesAllWordsAndRanksTitleHitsFirst() {
+        Todo inDescription = persistTodo(owner, "Weekly chores", "pay the electricity bill");
+        Todo inTitle = persistTodo(owner, "Pay electricity Bill", null);
+        persistTodo(owner, "Pay rent", "before the 5th");
+        persistTodo(other, "Pay electricity bill", "someone else's");
+        entityManager.flush();
+
+        List<TodoResponseDTO> items = searchService.search(owner.getId(), "  electricity   BILL ", 0, 20).getItems();
+
+        assertEquals(List.of(inTitle.getId(), inDescription.getId()), items.stream().map(TodoResponseDTO::getId).toList());
+    }
+
+    @Test
+    void pagesWithHasMore() {
+        for (int i = 0; i < 5; i++) {
+            persistTodo(owner, "report " + i, null);
+        }
+        entityManager.flush();
+
+        TodoSearchPageDTO first = searchService.search(owner.getId(), "report", 0, 2);
+        TodoSearchPageDTO last = searchService.search(owner.getId(), "report", 2, 2);
+
+        assertEquals(2, first.getItems().size());
+        assertTrue(first.isHasMore());
+        assertEquals(1, last.getItems().size());
+        assertFalse(last.isHasMore());
+    }
+
+    @Test
+    void wildcardCharactersAreMatchedLiterally() {
+        Todo discount = persistTodo(owner, "Get 50% off", null);
+        persistTodo(owner, "Get 500 points", null);
+        entityManager.flush();
+
+        List<TodoResponseDTO> items = searchService.search(owner.getId(), "50%", 0, 20).getItems();
+
+        assertEquals(List.of(discount.getId()), items.stream().map(TodoResponseDTO::getId).toList());
+    }
+
+    private User persistUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Todo persistTodo(User user, String title, String description) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setDescription(description);
+        todo.setPriority(Priority.HIGH);
+        todo.setUser(user);
+        entityManager.persist(todo);
+        return todo;
+    }
+}
@@ -0,0 +1,149 @@
+package com.todoapp.backend.service;
+
+import com.todoapp.backend.dto.request.TodoBatchOperationDTO;
+import com.todoapp.backend.dto.request.TodoRequestDTO;
+import com.todoapp.backend.dto.response.TodoBatchResultDTO;
+import com.todoapp.backend.model.Todo;
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TodoService.class, TodoListCache.class})
+public class TodoServiceBatchTest {
+
+    private static final int SYNC_SIZE = 1000;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("owner@example.com");
+        other = persistUser("other@example.com");
+    }
+
+    @Test
+    void batchReportsPerItemResults() {
+        Todo mine = persistTodo(owner, "mine");
+        Todo doomed = persistTodo(owner, "doomed");
+        Todo theirs = persistTodo(other, "theirs");
+        entityManager.flush();
+        TodoRequestDTO unknownPriority = todo("someday");
+        unknownPriority.setPriority("SOON");
+
+        List<TodoBatchOperationDTO> ops = List.of(
+                operation("create", null, todo("new one")),
+                operation("update", mine.getId(), todo("renamed")),
+                operation("update", theirs.getId(), todo("hijack")),
+                operation("delete", doomed.getId(), null),
+                operation("delete", doomed.getId(), null),
+                operation("archive", mine.getId(), null),
+                operation("create", null, unknownPriority));
+
+        List<TodoBatchResultDTO> results = todoService.applyBatch(owner, ops);
+
+        assertEquals(List.of(201, 200, 404, 200, 404, 400, 400),
+                results.stream().map(TodoBatchResultDTO::getStatus).toList());
+        assertNotNull(results.get(0).getId());
+        assertEquals("renamed", results.get(1).getTodo().getTitle());
+
+        entityManager.clear();
+        assertEquals("renamed", todoRepository.findById(mine.getId()).orElseThrow().getTitle());
+        assertEquals("theirs", todoRepository.findById(theirs.getId()).orElseThrow().getTitle());
+        assertTrue(todoRepository.findById(doomed.getId()).isEmpty());
+    }
+
+    /**
+     * Statement-count comparison for a 1,000-item mobile sync. "Unbatched" forces a JDBC
+     * batch size of 1, which is what the previous IDENTITY ids amounted to: one INSERT
+     * round trip per row.
+     */
+    @Test
+    void thousandItemSyncUsesAFewRoundTrips() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Session session = entityManager.unwrap(Session.class);
+
+        session.setJdbcBatchSize(1);
+        stats.clear();
+        todoService.applyBatch(owner, creates(SYNC_SIZE));
+        long unbatched = stats.getPrepareStatementCount();
+
+        session.setJdbcBatchSize(null);
+        stats.clear();
+        todoService.applyBatch(owner, creates(SYNC_SIZE));
+        long batched = stats.getPrepareStatementCount();
+
+        assertTrue(unbatched >= SYNC_SIZE, "unbatched sync prepared " + unbatched + " statements");
+        // 1000 / 50 insert batches + 1000 / 50 sequence calls
+        assertTrue(batched <= 2 * SYNC_SIZE / 50 + 2, "batched sync prepared " + batched + " statements");
+        assertEquals(2L * SYNC_SIZE, todoRepository.count(
+                (root, query, cb) -> cb.equal(root.get("user").get("id"), owner.getId())));
+    }
+
+    private static List<TodoBatchOperationDTO> creates(int count) {
+        List<TodoBatchOperationDTO> ops = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ops.add(operation("create", null, todo("synced " + i)));
+        }
+        return ops;
+    }
+
+    private static TodoBatchOperationDTO operation(String op, Long id, TodoRequestDTO todo) {
+        TodoBatchOperationDTO dto = new TodoBatchOperationDTO();
+        dto.setOp(op);
+        dto.setId(id);
+        dto.setTodo(todo);
+        return dto;
+    }
+
+    private static TodoRequestDTO todo(String title) {
+        TodoRequestDTO dto = new TodoRequestDTO();
+        dto.setTitle(title);
+        dto.setPriority("LOW");
+        return dto;
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("secret");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Todo persistTodo(User user, String title) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setUser(user);
+        entityManager.persist(todo);
+        return todo;
+    }
+}
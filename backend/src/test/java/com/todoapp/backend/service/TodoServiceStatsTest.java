@@ -0,0 +1,142 @@
+package com.todoapp.backend.service;
+
+import com.todoapp.backend.dto.request.TodoBatchOperationDTO;
+import com.todoapp.backend.dto.request.TodoPatchDTO;
+import com.todoapp.backend.dto.request.TodoRequestDTO;
+import com.todoapp.backend.dto.response.TodoStatsDTO;
+import com.todoapp.backend.model.Priority;
+import com.todoapp.backend.model.Todo;
+import com.todoapp.backend.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TodoService.class, TodoListCache.class})
+public class TodoServiceStatsTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("owner@example.com");
+        other = persistUser("other@example.com");
+    }
+
+    @Test
+    void countersFollowCreateUpdateDeleteAndBatch() {
+        Todo groceries = todoService.create(owner, todo("groceries", "HIGH", "home", false));
+        Todo taxes = todoService.create(owner, todo("taxes", "HIGH", "admin", false));
+        Todo gym = todoService.create(owner, todo("gym", "LOW", null, false));
+        todoService.create(other, todo("not mine", "LOW", "home", false));
+
+        todoService.update(owner, groceries.getId(), todo(null, "MEDIUM", null, true));
+        todoService.delete(owner.getId(), taxes.getId(), null);
+        todoService.applyBatch(owner, List.of(
+                operation("create", null, todo("call mom", "HIGH", "home", false)),
+                operation("update", gym.getId(), todo(null, null, "health", true)),
+                operation("create", null, todo("dentist", "LOW", "health", false))));
+
+        TodoStatsDTO stats = todoService.stats(owner.getId());
+
+        assertEquals(4, stats.getTotal());
+        assertEquals(2, stats.getCompleted());
+        assertEquals(2, stats.getPending());
+        assertEquals(Map.of("HIGH", 1L, "MEDIUM", 1L, "LOW", 2L), stats.getByPriority());
+        assertEquals(Map.of("home", 2L, "health", 2L), stats.getByCategory());
+        assertEquals(0, stats.getUncategorized());
+        assertEquals(stats.getTotal(), countTodos(owner));
+    }
+
+    @Test
+    void patchMovesTheTodoBetweenCounters() {
+        Todo report = todoService.create(owner, todo("report", "LOW", "work", false));
+        todoService.create(owner, todo("slides", "LOW", "work", false));
+
+        TodoPatchDTO patch = new TodoPatchDTO();
+        patch.setCompleted(true);
+        patch.setCategory("  ");
+        patch.setVersion(report.getVersion());
+        todoService.patch(owner.getId(), report.getId(), patch);
+
+        TodoStatsDTO stats = todoService.stats(owner.getId());
+        assertEquals(2, stats.getTotal());
+        assertEquals(1, stats.getCompleted());
+        assertEquals(Map.of("LOW", 2L), stats.getByPriority());
+        assertEquals(Map.of("work", 1L), stats.getByCategory());
+        assertEquals(1, stats.getUncategorized());
+    }
+
+    @Test
+    void categoriesAreStoredOncePerUserAndPrioritiesAsCodes() {
+        todoService.create(owner, todo("a", "low", "work", false));
+        Todo urgent = todoService.create(owner, todo("b", "HIGH", "work", false));
+        todoService.create(other, todo("c", "LOW", "work", false));
+        entityManager.flush();
+
+        long categories = entityManager.createQuery("select count(c) from TodoCategory c", Long.class).getSingleResult();
+        assertEquals(2, categories, "one dictionary entry per user and name");
+        Number code = (Number) entityManager.createNativeQuery("select priority from todos where id = ?1")
+                .setParameter(1, urgent.getId())
+                .getSingleResult();
+        assertEquals(3, code.intValue());
+        assertEquals(Priority.HIGH, urgent.getPriority());
+        assertEquals("work", urgent.getCategoryName());
+    }
+
+    @Test
+    void userWithoutTodosHasEmptyStats() {
+        TodoStatsDTO stats = todoService.stats(owner.getId());
+
+        assertEquals(0, stats.getTotal());
+        assertTrue(stats.getByPriority().isEmpty());
+        assertTrue(stats.getByCategory().isEmpty());
+    }
+
+    private long countTodos(User user) {
+        return entityManager.createQuery("select count(t) from Todo t where t.user.id = :userId", Long.class)
+                .setParameter("userId", user.getId())
+                .getSingleResult();
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("secret");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private static TodoRequestDTO todo(String title, String priority, String category, boolean completed) {
+        TodoRequestDTO dto = new TodoRequestDTO();
+        dto.setTitle(title);
+        dto.setPriority(priority);
+        dto.setCategory(category);
+        dto.setCompleted(completed);
+        return dto;
+    }
+
+    private static TodoBatchOperationDTO operation(String op, Long id, TodoRequestDTO todo) {
+        TodoBatchOperationDTO operation = new TodoBatchOperationDTO();
+        operation.setOp(op);
+        operation.setId(id);
+        operation.setTodo(todo);
+        return operation;
+    }
+}
@@ -0,0 +1,109 @@
+package com.todoapp.backend.service;
+
+import com.todoapp.backend.event.InMemoryTodoEventBus;
+import com.todoapp.backend.event.TodoEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TodoStreamServiceTest {
+
+    private static final int BUFFER_SIZE = 8;
+
+    private final ExecutorService drainExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor();
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> {
+            if (emitter instanceof StuckEmitter stuck) {
+                stuck.release.countDown();
+            }
+        });
+        publisher.shutdownNow();
+        drainExecutor.shutdownNow();
+    }
+
+    @Test
+    void slowStreamIsDroppedWithoutBlockingThePublisher() throws Exception {
+        StuckEmitter slow = new StuckEmitter();
+        emitters.add(slow);
+        emitters.add(new SseEmitter());
+        InMemoryTodoEventBus bus = new InMemoryTodoEventBus();
+        TodoStreamService streams = new TodoStreamService(bus, drainExecutor, emitters::poll,
+                BUFFER_SIZE, Duration.ofHours(1));
+        streams.open(1L);
+        streams.open(2L);
+        assertEquals(2, streams.getOpenStreams());
+
+        // The drain of user 1 gets stuck in send() holding the emitter's write lock, as when
+        // the socket buffer of a client that stopped reading is full
+        slow.stuck = true;
+        bus.publish(event(0));
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS), "drain did not start");
+
+        CompletableFuture<Void> publishing = CompletableFuture.runAsync(() -> {
+            for (int i = 1; i <= 2 * BUFFER_SIZE; i++) {
+                bus.publish(event(i));
+            }
+        }, publisher);
+        assertDoesNotThrow(() -> publishing.get(1, TimeUnit.SECONDS), "publishing must not wait for the client");
+
+        assertEquals(1, streams.getDroppedStreams());
+        assertEquals(1, streams.getOpenStreams(), "only the slow user's stream is closed");
+        assertEquals(1, slow.completed.getCount(), "completing waits for the stuck send");
+
+        slow.release.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS), "the slow stream was never completed");
+        streams.shutdown();
+    }
+
+    private static TodoEvent event(long seq) {
+        return new TodoEvent(TodoEvent.CREATED, 1L, seq, seq, null);
+    }
+
+    private static final class StuckEmitter extends SseEmitter {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile boolean stuck;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (!stuck) {
+                super.send(builder);
+                return;
+            }
+            writeLock.lock();
+            try {
+                sending.countDown();
+                release.await();
+                super.send(builder);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void complete() {
+            super.complete();
+            completed.countDown();
+        }
+    }
+}
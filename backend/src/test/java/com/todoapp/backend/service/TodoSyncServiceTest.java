@@ -0,0 +1,177 @@
+package com.todoapp.backend.service;
+
+import com.todoapp.backend.dto.request.TodoBatchOperationDTO;
+import com.todoapp.backend.dto.request.TodoRequestDTO;
+import com.todoapp.backend.dto.response.TodoChangesDTO;
+import com.todoapp.backend.dto.response.TodoResponseDTO;
+import com.todoapp.backend.model.Todo;
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.repository.TodoChangesCursor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TodoService.class, TodoListCache.class, TodoSyncService.class})
+public class TodoSyncServiceTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoSyncService todoSyncService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        owner = persistUser("owner@example.com");
+        other = persistUser("other@example.com");
+    }
+
+    @Test
+    void returnsOnlyChangesAfterTheCursor() {
+        Todo kept = todoService.create(owner, todo("kept"));
+        Todo renamed = todoService.create(owner, todo("renamed"));
+        Todo removed = todoService.create(owner, todo("removed"));
+        todoService.create(other, todo("not mine"));
+
+        TodoChangesDTO full = todoSyncService.changesSince(owner.getId(), null);
+        assertEquals(List.of(kept.getId(), renamed.getId(), removed.getId()), ids(full.getChanged()));
+        assertTrue(full.getDeleted().isEmpty());
+
+        todoService.update(owner, renamed.getId(), todo("renamed again"));
+        todoService.delete(owner.getId(), removed.getId(), null);
+        Todo added = todoService.create(owner, todo("added"));
+
+        TodoChangesDTO delta = todoSyncService.changesSince(owner.getId(), TodoChangesCursor.decode(full.getNextCursor()));
+        assertEquals(List.of(renamed.getId(), added.getId()), ids(delta.getChanged()));
+        assertEquals("renamed again", delta.getChanged().get(0).getTitle());
+        assertEquals(List.of(removed.getId()), delta.getDeleted());
+        assertFalse(delta.isHasMore());
+
+        TodoChangesDTO none = todoSyncService.changesSince(owner.getId(), TodoChangesCursor.decode(delta.getNextCursor()));
+        assertTrue(none.getChanged().isEmpty());
+        assertTrue(none.getDeleted().isEmpty());
+    }
+
+    @Test
+    void pagesCanStopInsideABatchVersion() {
+        Todo first = todoService.create(owner, todo("first"));
+        List<TodoBatchOperationDTO> batch = new ArrayList<>();
+        for (int i = 0; i < TodoService.MAX_BATCH_SIZE; i++) {
+            batch.add(operation(todo("batched " + i)));
+        }
+        todoService.applyBatch(owner, batch);
+        todoService.create(owner, todo("last"));
+
+        TodoChangesDTO page1 = todoSyncService.changesSince(owner.getId(), null);
+        assertEquals(TodoSyncService.MAX_CHANGES, page1.getChanged().size());
+        assertTrue(page1.isHasMore());
+        TodoChangesCursor cursor = TodoChangesCursor.decode(page1.getNextCursor());
+        assertEquals(page1.getChanged().get(TodoSyncService.MAX_CHANGES - 1).getId(), cursor.todoId());
+
+        todoService.delete(owner.getId(), first.getId(), null);
+        TodoChangesDTO page2 = todoSyncService.changesSince(owner.getId(), cursor);
+
+        // The rest of the batch, then the todo created after it
+        assertEquals(List.of("batched " + (TodoService.MAX_BATCH_SIZE - 1), "last"),
+                page2.getChanged().stream().map(TodoResponseDTO::getTitle).toList());
+        assertEquals(List.of(first.getId()), page2.getDeleted());
+        assertFalse(page2.isHasMore());
+        assertNull(TodoChangesCursor.decode(page2.getNextCursor()).todoId());
+    }
+
+    @Test
+    void fullSyncPagesThroughMoreLegacyRowsThanFitOnAPage() {
+        // Rows from before the changes feed all have version 0
+        int legacy = TodoSyncService.MAX_CHANGES + 5;
+        for (int i = 0; i < legacy; i++) {
+            Todo todo = new Todo();
+            todo.setTitle("legacy " + i);
+            todo.setUser(owner);
+            entityManager.persist(todo);
+        }
+        Todo recent = todoService.create(owner, todo("recent"));
+
+        Set<Long> seen = new HashSet<>();
+        TodoChangesCursor cursor = null;
+        int pages = 0;
+        boolean hasMore;
+        do {
+            TodoChangesDTO page = todoSyncService.changesSince(owner.getId(), cursor);
+            page.getChanged().forEach(t -> assertTrue(seen.add(t.getId()), "todo returned twice: " + t.getId()));
+            // Round-trip through the opaque form, as a client would
+            cursor = TodoChangesCursor.decode(page.getNextCursor());
+            hasMore = page.isHasMore();
+            pages++;
+        } while (hasMore);
+
+        assertEquals(2, pages);
+        assertEquals(legacy + 1, seen.size());
+        assertTrue(seen.contains(recent.getId()));
+        assertTrue(todoSyncService.changesSince(owner.getId(), cursor).getChanged().isEmpty());
+    }
+
+    @Test
+    void cursorsWithoutATodoIdStillDecode() {
+        TodoChangesCursor complete = TodoChangesCursor.decode(new TodoChangesCursor(7, Instant.now()).encode());
+        assertEquals(7, complete.changeSeq());
+        assertNull(complete.todoId());
+        assertEquals(7, complete.completeSeq());
+
+        TodoChangesCursor partial = TodoChangesCursor.decode(new TodoChangesCursor(0, 42L, Instant.now()).encode());
+        assertEquals(0, partial.changeSeq());
+        assertEquals(42L, partial.todoId());
+        assertEquals(-1, partial.completeSeq());
+    }
+
+    @Test
+    void cursorsOlderThanTheRetentionExpire() {
+        assertFalse(todoSyncService.isExpired(new TodoChangesCursor(1, Instant.now())));
+        assertTrue(todoSyncService.isExpired(new TodoChangesCursor(1, Instant.now().minus(Duration.ofDays(31)))));
+    }
+
+    private static List<Long> ids(List<TodoResponseDTO> todos) {
+        return todos.stream().map(TodoResponseDTO::getId).toList();
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("secret");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private static TodoRequestDTO todo(String title) {
+        TodoRequestDTO dto = new TodoRequestDTO();
+        dto.setTitle(title);
+        dto.setPriority("LOW");
+        return dto;
+    }
+
+    private static TodoBatchOperationDTO operation(TodoRequestDTO todo) {
+        TodoBatchOperationDTO operation = new TodoBatchOperationDTO();
+        operation.setOp("create");
+        operation.setTodo(todo);
+        return operation;
+    }
+}
@@ -0,0 +1,177 @@
+package com.todoapp.backend.service;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.todoapp.backend.model.User;
+import com.todoapp.backend.security.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Users are held in the second-level cache with email as a cached natural id: email
+ * lookups (GET /api/auth/verify) run no SQL once the user is cached, updates are visible
+ * at once, and logins still check the password stored in the database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UserServiceCacheTest {
+
+    private static final String PASSWORD = "Password!23";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Statistics stats;
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userService.register("cached", "cached-" + UUID.randomUUID() + "@example.com", PASSWORD);
+        token = jwtUtil.generateToken(userService.toPrincipal(user));
+    }
+
+    @Test
+    void emailLookupsAreServedFromTheNaturalIdCache() throws Exception {
+        stats.clear();
+
+        for (int i = 0; i < 10; i++) {
+            verify().andExpect(jsonPath("$.name").value("cached"));
+        }
+
+        assertEquals(0, stats.getPrepareStatementCount());
+        assertEquals(10, stats.getNaturalIdStatistics(User.class.getName()).getCacheHitCount());
+        assertEquals(10, stats.getCacheRegionStatistics(User.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void userRegionsAreTheBoundedCachesOfTheJCacheConfig() throws Exception {
+        CacheManager cacheManager = ((JCacheRegionFactory) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory()).getCacheManager();
+        for (String region : new String[]{User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION}) {
+            Cache<Object, Object> cache = cacheManager.getCache(region);
+            assertNotNull(cache, region);
+            // hibernate-jcache.conf, not Caffeine's unbounded defaults
+            assertEquals(OptionalLong.of(10_000), cache.getConfiguration(CaffeineConfiguration.class).getMaximumSize(), region);
+        }
+
+        verify();
+        stats.clear();
+        verify();
+
+        assertEquals(1, stats.getCacheRegionStatistics(User.CACHE_REGION).getHitCount());
+        assertTrue(cacheManager.getCache(User.CACHE_REGION).iterator().hasNext(), "user region is empty");
+    }
+
+    @Test
+    void profileUpdatesAreVisibleWithoutAQuery() throws Exception {
+        verify().andExpect(jsonPath("$.name").value("cached"));
+
+        userService.updateProfile(user.getId(), "renamed");
+        stats.clear();
+
+        verify().andExpect(jsonPath("$.name").value("renamed"));
+        assertEquals(0, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void loginChecksThePasswordInTheDatabase() throws Exception {
+        verify();
+        userService.updatePassword(user.getId(), "Changed!45");
+
+        login(PASSWORD).andExpect(status().isUnauthorized());
+        login("Changed!45").andExpect(status().isOk());
+    }
+
+    @Test
+    void loginSeesAPasswordChangedBehindTheCache() throws Exception {
+        verify();
+        assertTrue(entityManagerFactory.getCache().contains(User.class, user.getId()));
+        // As another instance would: straight to the database, this instance's cache keeps the old hash
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE user_id = ?",
+                passwordEncoder.encode("Elsewhere!67"), user.getId());
+        assertTrue(entityManagerFactory.getCache().contains(User.class, user.getId()));
+
+        login(PASSWORD).andExpect(status().isUnauthorized());
+        login("Elsewhere!67").andExpect(status().isOk());
+    }
+
+    @Test
+    void typicalRequestMixRunsFewerStatements() throws Exception {
+        stats.clear();
+
+        // One session: log in, then lists, creates and token checks
+        login(PASSWORD).andExpect(status().isOk());
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+            mockMvc.perform(post("/api/todos").header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"todo " + i + "\",\"priority\":\"LOW\"}"))
+                    .andExpect(status().isCreated());
+            verify().andExpect(status().isOk());
+        }
+
+        long statements = stats.getPrepareStatementCount();
+        long userLoads = stats.getEntityStatistics(User.class.getName()).getLoadCount();
+        System.out.printf("Request mix (1 login, 5 x list/create/verify): %d statements, %d users rows loaded%n",
+                statements, userLoads);
+        // The login reads only the credential columns and no request loads a User row
+        assertEquals(0, userLoads);
+    }
+
+    private ResultActions verify() throws Exception {
+        return mockMvc.perform(get("/api/auth/verify").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions login(String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + user.getEmail() + "\",\"password\":\"" + password + "\"}"));
+    }
+}